@@ -2,8 +2,10 @@ package com.wellness.marketplace;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class WellnessMarketplaceApplication {
     public static void main(String[] args) {
         SpringApplication.run(WellnessMarketplaceApplication.class, args);
@@ -0,0 +1,56 @@
+package com.wellness.marketplace.cache;
+
+import com.wellness.marketplace.dto.CursorPage;
+import com.wellness.marketplace.dto.PractitionerDirectoryEntry;
+import com.wellness.marketplace.util.AfterCommit;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of practitioner directory pages, keyed by the full page request. Any change to a
+ * profile or its reviews can move entries between pages, so writers drop the whole cache through
+ * {@link #directoryChanged}; the TTL bounds staleness from changes that are not reported, such as a bio edit.
+ */
+@Component
+public class PractitionerDirectoryCache {
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${practitioner.directory.cache.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${practitioner.directory.cache.max-size:1000}")
+    private int maxSize;
+    
+    @Value("${practitioner.directory.cache.ttl-ms:30000}")
+    private long ttlMs;
+    
+    private ExpiringCache<String, CursorPage<PractitionerDirectoryEntry>> pages;
+    
+    @PostConstruct
+    void init() {
+        pages = new ExpiringCache<>(maxSize, ttlMs);
+        FunctionCounter.builder("practitioner.directory.cache.hits", pages, ExpiringCache::hitCount).register(meterRegistry);
+        FunctionCounter.builder("practitioner.directory.cache.misses", pages, ExpiringCache::missCount).register(meterRegistry);
+        FunctionCounter.builder("practitioner.directory.cache.evictions", pages, ExpiringCache::evictionCount).register(meterRegistry);
+        Gauge.builder("practitioner.directory.cache.size", pages, ExpiringCache::size).register(meterRegistry);
+    }
+    
+    public CursorPage<PractitionerDirectoryEntry> getPage(String key, Supplier<CursorPage<PractitionerDirectoryEntry>> loader) {
+        return enabled ? pages.get(key, k -> loader.get()) : loader.get();
+    }
+    
+    /**
+     * Drops every cached page, including any cached from the directory before the change committed.
+     */
+    public void directoryChanged() {
+        AfterCommit.runNowAndAfterCommit(pages::invalidateAll);
+    }
+}
@@ -0,0 +1,134 @@
+package com.wellness.marketplace.cache;
+
+import com.wellness.marketplace.model.Product;
+import com.wellness.marketplace.util.AfterCommit;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache for the public catalog views: single products, per-category lists and the
+ * in-stock list. Writers call {@link #productChanged} so only the entries a change can affect are
+ * dropped; the TTL bounds staleness from a load racing with a write.
+ */
+@Component
+public class ProductCatalogCache {
+    
+    private static final String AVAILABLE = "available";
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${catalog.cache.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${catalog.cache.max-size:10000}")
+    private int maxSize;
+    
+    @Value("${catalog.cache.ttl-ms:60000}")
+    private long ttlMs;
+    
+    private ExpiringCache<Long, Product> byId;
+    private ExpiringCache<String, List<Product>> byCategory;
+    private ExpiringCache<String, List<Product>> available;
+    
+    @PostConstruct
+    void init() {
+        byId = new ExpiringCache<>(maxSize, ttlMs);
+        byCategory = new ExpiringCache<>(Math.max(1, maxSize / 10), ttlMs);
+        available = new ExpiringCache<>(1, ttlMs);
+        register("byId", byId);
+        register("byCategory", byCategory);
+        register("available", available);
+    }
+    
+    public Product getById(Long id, Function<Long, Product> loader) {
+        return enabled ? byId.get(id, loader) : loader.apply(id);
+    }
+    
+    public List<Product> getByCategory(String category, Function<String, List<Product>> loader) {
+        return enabled ? byCategory.get(category, key -> List.copyOf(loader.apply(key))) : loader.apply(category);
+    }
+    
+    public List<Product> getAvailable(Supplier<List<Product>> loader) {
+        return enabled ? available.get(AVAILABLE, key -> List.copyOf(loader.get())) : loader.get();
+    }
+    
+    /**
+     * Drops the entries that may show the product as it was ({@code previous}, null when new) or as it
+     * is now. Inside a transaction the entries are dropped again after commit, so a read between the
+     * write and the commit cannot leave the old row cached.
+     */
+    public void productChanged(Snapshot previous, Product product) {
+        changed(previous == null ? List.of() : List.of(previous), List.of(snapshot(product)));
+    }
+    
+    /**
+     * Bulk form of {@link #productChanged} for imports: each category and the available list are
+     * evicted once, however many products changed.
+     */
+    public void productsChanged(Collection<Snapshot> previous, Collection<Product> products) {
+        changed(List.copyOf(previous), products.stream().map(ProductCatalogCache::snapshot).toList());
+    }
+    
+    /**
+     * Captures the fields the cache keys depend on, for callers about to modify a managed entity.
+     */
+    public static Snapshot snapshot(Product product) {
+        return new Snapshot(product.getId(), product.getCategory(),
+                product.getStock() != null && product.getStock() > 0);
+    }
+    
+    public void invalidateAll() {
+        byId.invalidateAll();
+        byCategory.invalidateAll();
+        available.invalidateAll();
+    }
+    
+    private void changed(List<Snapshot> previous, List<Snapshot> current) {
+        AfterCommit.runNowAndAfterCommit(() -> evict(previous, current));
+    }
+    
+    private void evict(List<Snapshot> previous, List<Snapshot> current) {
+        Set<String> categories = new HashSet<>();
+        // The available list shows stock levels, so any change to a product that is or was in stock matters
+        boolean inStock = false;
+        for (List<Snapshot> snapshots : List.of(previous, current)) {
+            for (Snapshot snapshot : snapshots) {
+                if (snapshot.id() != null) {
+                    byId.invalidate(snapshot.id());
+                }
+                categories.add(snapshot.category());
+                inStock |= snapshot.inStock();
+            }
+        }
+        categories.forEach(byCategory::invalidate);
+        if (inStock) {
+            available.invalidate(AVAILABLE);
+        }
+    }
+    
+    private void register(String name, ExpiringCache<?, ?> cache) {
+        FunctionCounter.builder("catalog.cache.hits", cache, ExpiringCache::hitCount)
+                .tag("cache", name).register(meterRegistry);
+        FunctionCounter.builder("catalog.cache.misses", cache, ExpiringCache::missCount)
+                .tag("cache", name).register(meterRegistry);
+        FunctionCounter.builder("catalog.cache.evictions", cache, ExpiringCache::evictionCount)
+                .tag("cache", name).register(meterRegistry);
+        Gauge.builder("catalog.cache.size", cache, ExpiringCache::size)
+                .tag("cache", name).register(meterRegistry);
+    }
+    
+    public record Snapshot(Long id, String category, boolean inStock) {
+    }
+}
@@ -0,0 +1,51 @@
+package com.wellness.marketplace.cache;
+
+import com.wellness.marketplace.model.User;
+import com.wellness.marketplace.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.util.Optional;
+
+/**
+ * Bounded, TTL-evicting cache of {@link User} rows keyed by email.
+ * Entries are dropped by {@link UserCacheListener} whenever a user row is updated or deleted.
+ */
+@Component
+public class UserCache {
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Value("${user-cache.max-size:10000}")
+    private int maxSize;
+    
+    @Value("${user-cache.ttl-ms:300000}")
+    private long ttlMs;
+    
+    private ExpiringCache<String, User> users;
+    
+    @PostConstruct
+    void init() {
+        users = new ExpiringCache<>(maxSize, ttlMs);
+    }
+    
+    public Optional<User> findByEmail(String email) {
+        return Optional.ofNullable(users.get(email, key -> userRepository.findByEmail(key).orElse(null)));
+    }
+    
+    public void invalidate(User user) {
+        if (user.getEmail() != null) {
+            users.invalidate(user.getEmail());
+        }
+        // Catches entries cached under a previous email
+        if (user.getId() != null) {
+            users.invalidateIf((email, cached) -> user.getId().equals(cached.getId()));
+        }
+    }
+    
+    public void invalidateAll() {
+        users.invalidateAll();
+    }
+}
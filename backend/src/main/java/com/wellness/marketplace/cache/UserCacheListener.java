@@ -0,0 +1,21 @@
+package com.wellness.marketplace.cache;
+
+import com.wellness.marketplace.model.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+
+public class UserCacheListener {
+    
+    // Lazy: listeners are created while the EntityManagerFactory is still being built
+    @Autowired
+    @Lazy
+    private UserCache userCache;
+    
+    @PostUpdate
+    @PostRemove
+    public void onChange(User user) {
+        userCache.invalidate(user);
+    }
+}
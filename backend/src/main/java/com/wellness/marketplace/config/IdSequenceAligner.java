@@ -0,0 +1,85 @@
+package com.wellness.marketplace.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.metamodel.EntityType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import java.lang.reflect.Field;
+
+/**
+ * Moves every entity id sequence past the highest id already stored, before anything else inserts.
+ * Needed once when a database created with IDENTITY columns is upgraded to pooled sequences, and
+ * harmless afterwards. MySQL has no sequences, so Hibernate keeps each one in a single-row table.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class IdSequenceAligner implements ApplicationRunner {
+    
+    private static final Logger log = LoggerFactory.getLogger(IdSequenceAligner.class);
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Override
+    public void run(ApplicationArguments args) {
+        boolean tableBacked = Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            String product = connection.getMetaData().getDatabaseProductName().toLowerCase();
+            return product.contains("mysql") || product.contains("mariadb");
+        }));
+        
+        for (EntityType<?> entity : entityManagerFactory.getMetamodel().getEntities()) {
+            Class<?> type = entity.getJavaType();
+            Table table = type.getAnnotation(Table.class);
+            SequenceGenerator generator = idSequence(type);
+            if (table == null || generator == null) {
+                continue;
+            }
+            
+            Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table.name(), Long.class);
+            if (maxId == null || maxId == 0) {
+                continue;
+            }
+            // The pooled optimizer hands out (value - allocationSize, value], so stay a full block ahead
+            long next = maxId + generator.allocationSize() + 1;
+            String sequence = generator.sequenceName();
+            if (tableBacked) {
+                int updated = jdbcTemplate.update(
+                        "UPDATE " + sequence + " SET next_val = ? WHERE next_val < ?", next, next);
+                if (updated > 0) {
+                    log.info("Advanced id sequence {} to {}", sequence, next);
+                }
+            } else {
+                Long current = jdbcTemplate.queryForObject(
+                        "SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE UPPER(SEQUENCE_NAME) = UPPER(?)",
+                        Long.class, sequence);
+                if (current != null && current < next) {
+                    jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + next);
+                    log.info("Advanced id sequence {} to {}", sequence, next);
+                }
+            }
+        }
+    }
+    
+    private static SequenceGenerator idSequence(Class<?> type) {
+        for (Field field : type.getDeclaredFields()) {
+            SequenceGenerator generator = field.getAnnotation(SequenceGenerator.class);
+            if (generator != null) {
+                return generator;
+            }
+        }
+        return null;
+    }
+}
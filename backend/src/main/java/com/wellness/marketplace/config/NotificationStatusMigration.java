@@ -0,0 +1,60 @@
+package com.wellness.marketplace.config;
+
+import com.wellness.marketplace.model.NotificationStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * Converts {@code notifications.status} from the old {@code 'read'} / {@code 'unread'} strings to the one-byte
+ * codes of {@link NotificationStatus}. Schema update does not change the type of an existing column, so this is
+ * needed once on databases created before the change and does nothing afterwards. Rows written with a code
+ * before it runs are kept as they are.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class NotificationStatusMigration implements ApplicationRunner {
+    
+    private static final Logger log = LoggerFactory.getLogger(NotificationStatusMigration.class);
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                isCharacterColumn(connection.getMetaData(), connection.getCatalog())))) {
+            return;
+        }
+        int rows = jdbcTemplate.update(
+                "UPDATE notifications SET status = CASE WHEN status IN ('read', ?) THEN ? ELSE ? END",
+                String.valueOf(NotificationStatus.READ.getCode()),
+                String.valueOf(NotificationStatus.READ.getCode()), String.valueOf(NotificationStatus.UNREAD.getCode()));
+        jdbcTemplate.execute("ALTER TABLE notifications MODIFY status TINYINT NOT NULL");
+        log.info("Converted notifications.status to status codes ({} rows)", rows);
+    }
+    
+    private static boolean isCharacterColumn(DatabaseMetaData metaData, String catalog) throws SQLException {
+        // Identifier case depends on the database, so try both
+        for (String[] names : new String[][] {{"notifications", "status"}, {"NOTIFICATIONS", "STATUS"}}) {
+            try (ResultSet columns = metaData.getColumns(catalog, null, names[0], names[1])) {
+                if (columns.next()) {
+                    int type = columns.getInt("DATA_TYPE");
+                    return type == Types.VARCHAR || type == Types.CHAR || type == Types.LONGVARCHAR;
+                }
+            }
+        }
+        return false;
+    }
+}
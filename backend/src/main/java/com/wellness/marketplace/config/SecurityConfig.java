@@ -1,9 +1,13 @@
 package com.wellness.marketplace.config;
 
 import com.wellness.marketplace.security.JwtAuthenticationFilter;
+import com.wellness.marketplace.security.OffloadingPasswordEncoder;
+import com.wellness.marketplace.security.PasswordHashingExecutor;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -28,9 +32,19 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
     
+    @Autowired
+    private PasswordHashingExecutor passwordHashingExecutor;
+    
+    /**
+     * The raw hashing algorithm, for callers that manage their own parallelism such as bulk imports.
+     */
+    public static PasswordEncoder hashingAlgorithm() {
+        return new BCryptPasswordEncoder();
+    }
+    
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new OffloadingPasswordEncoder(hashingAlgorithm(), passwordHashingExecutor);
     }
     
     @Bean
@@ -53,14 +67,22 @@ public class SecurityConfig {
             .cors(cors -> cors.configure(http))
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
+                // Streamed responses complete on an async dispatch; the request was authorized when it arrived
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                .requestMatchers("/error").permitAll()
+                .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 .requestMatchers("/api/auth/**").permitAll()
+                // The STOMP CONNECT frame carries the token; see StompAuthChannelInterceptor
+                .requestMatchers("/ws/**").permitAll()
+                .requestMatchers("/api/admin/**").hasRole("ADMIN")
                 .requestMatchers("/api/products/**").permitAll()
-                .requestMatchers("GET", "/api/practitioners/unverified").hasRole("ADMIN")
-                .requestMatchers("GET", "/api/practitioners/**").permitAll()
-                .requestMatchers("PUT", "/api/practitioners/**/verify").hasRole("ADMIN")
-                .requestMatchers("POST", "/api/practitioners/admin/verify").hasRole("ADMIN")
-                .requestMatchers("POST", "/api/practitioners").authenticated()
-                .requestMatchers("PUT", "/api/practitioners/**").authenticated()
+                .requestMatchers(HttpMethod.GET, "/api/practitioners/unverified").hasRole("ADMIN")
+                .requestMatchers(HttpMethod.GET, "/api/practitioners/**").permitAll()
+                .requestMatchers(HttpMethod.PUT, "/api/practitioners/*/verify").hasRole("ADMIN")
+                .requestMatchers(HttpMethod.POST, "/api/practitioners/admin/**").hasRole("ADMIN")
+                .requestMatchers(HttpMethod.POST, "/api/practitioners").authenticated()
+                .requestMatchers(HttpMethod.PUT, "/api/practitioners/**").authenticated()
                 .requestMatchers("/api/questions/**").permitAll()
                 .anyRequest().authenticated()
             )
@@ -0,0 +1,67 @@
+package com.wellness.marketplace.controller;
+
+import com.wellness.marketplace.service.ExportService;
+import com.wellness.marketplace.util.DelimitedRecordReader;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/admin/exports")
+public class AdminExportController {
+    
+    @Autowired
+    private ExportService exportService;
+    
+    @GetMapping("/orders")
+    public ResponseEntity<StreamingResponseBody> exportOrders(@RequestParam(defaultValue = "ndjson") String format,
+                                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        DelimitedRecordReader.Format outputFormat = parse(format, from, to);
+        return stream("orders", outputFormat, output -> exportService.exportOrders(from, to, outputFormat, output));
+    }
+    
+    @GetMapping("/sessions")
+    public ResponseEntity<StreamingResponseBody> exportSessions(@RequestParam(defaultValue = "ndjson") String format,
+                                                                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        DelimitedRecordReader.Format outputFormat = parse(format, from, to);
+        return stream("sessions", outputFormat, output -> exportService.exportSessions(from, to, outputFormat, output));
+    }
+    
+    @GetMapping("/reviews")
+    public ResponseEntity<StreamingResponseBody> exportReviews(@RequestParam(defaultValue = "ndjson") String format,
+                                                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        DelimitedRecordReader.Format outputFormat = parse(format, from, to);
+        return stream("reviews", outputFormat, output -> exportService.exportReviews(from, to, outputFormat, output));
+    }
+    
+    // Checked before streaming starts, while an error status can still be sent
+    private static DelimitedRecordReader.Format parse(String format, LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must not be after to");
+        }
+        return switch (format.toLowerCase()) {
+            case "csv" -> DelimitedRecordReader.Format.CSV;
+            case "ndjson" -> DelimitedRecordReader.Format.NDJSON;
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "format must be csv or ndjson");
+        };
+    }
+    
+    private static ResponseEntity<StreamingResponseBody> stream(String name, DelimitedRecordReader.Format format,
+                                                                StreamingResponseBody body) {
+        boolean csv = format == DelimitedRecordReader.Format.CSV;
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(csv ? "text/csv;charset=UTF-8" : "application/x-ndjson;charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + name + (csv ? ".csv" : ".ndjson") + "\"")
+                .body(body);
+    }
+}
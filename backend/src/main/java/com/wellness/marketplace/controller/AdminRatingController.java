@@ -0,0 +1,20 @@
+package com.wellness.marketplace.controller;
+
+import com.wellness.marketplace.service.RatingAggregateService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/ratings")
+public class AdminRatingController {
+    
+    @Autowired
+    private RatingAggregateService ratingAggregateService;
+    
+    @PostMapping("/reconcile")
+    public ResponseEntity<Map<String, Integer>> reconcile() {
+        return ResponseEntity.ok(Map.of("practitioners", ratingAggregateService.reconcile()));
+    }
+}
@@ -0,0 +1,33 @@
+package com.wellness.marketplace.controller;
+
+import com.wellness.marketplace.dto.SalesSummary;
+import com.wellness.marketplace.service.SalesRollupService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/sales")
+public class AdminSalesController {
+    
+    @Autowired
+    private SalesRollupService salesRollupService;
+    
+    @GetMapping
+    public ResponseEntity<List<SalesSummary>> getSales(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                       @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                       @RequestParam(defaultValue = "category") String groupBy,
+                                                       @RequestParam(required = false) String category) {
+        return ResponseEntity.ok(salesRollupService.summarize(from, to, groupBy, category));
+    }
+    
+    @PostMapping("/backfill")
+    public ResponseEntity<Map<String, Integer>> backfill(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(Map.of("rows", salesRollupService.backfill(from, to)));
+    }
+}
@@ -0,0 +1,33 @@
+package com.wellness.marketplace.controller;
+
+import com.wellness.marketplace.service.UserImportService;
+import com.wellness.marketplace.util.DelimitedRecordReader;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/admin/users")
+public class AdminUserController {
+    
+    @Autowired
+    private UserImportService userImportService;
+    
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public void importUsers(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        DelimitedRecordReader.Format format;
+        try {
+            format = DelimitedRecordReader.Format.fromContentType(request.getContentType());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE, e.getMessage());
+        }
+        
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        userImportService.importUsers(request.getInputStream(), format, response.getOutputStream());
+    }
+}
@@ -1,11 +1,14 @@
 package com.wellness.marketplace.controller;
 
+import com.wellness.marketplace.dto.CursorPage;
 import com.wellness.marketplace.model.Notification;
+import com.wellness.marketplace.repository.KeysetPageRequest;
 import com.wellness.marketplace.service.NotificationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/notifications")
@@ -16,8 +19,13 @@ public class NotificationController {
     private NotificationService notificationService;
     
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Notification>> getUserNotifications(@PathVariable Long userId) {
-        return ResponseEntity.ok(notificationService.getUserNotifications(userId));
+    public ResponseEntity<CursorPage<Notification>> getUserNotifications(@PathVariable Long userId,
+                                                                         @RequestParam(required = false) String cursor,
+                                                                         @RequestParam(required = false) Integer size,
+                                                                         @RequestParam(required = false) String sort,
+                                                                         @RequestParam(required = false) String status) {
+        KeysetPageRequest page = KeysetPageRequest.of(cursor, size, sort, "createdAt,desc", NotificationService.SORTABLE);
+        return ResponseEntity.ok(notificationService.getUserNotifications(userId, page, status));
     }
     
     @GetMapping("/user/{userId}/unread")
@@ -25,6 +33,21 @@ public class NotificationController {
         return ResponseEntity.ok(notificationService.getUnreadNotifications(userId));
     }
     
+    @GetMapping("/user/{userId}/unread/count")
+    public ResponseEntity<Map<String, Integer>> getUnreadCount(@PathVariable Long userId) {
+        return ResponseEntity.ok(Map.of("unread", notificationService.getUnreadCount(userId)));
+    }
+    
+    @PutMapping("/user/{userId}/read")
+    public ResponseEntity<Map<String, Integer>> markAsRead(@PathVariable Long userId, @RequestBody List<Long> ids) {
+        return ResponseEntity.ok(Map.of("updated", notificationService.markAsRead(userId, ids)));
+    }
+    
+    @PutMapping("/user/{userId}/read-all")
+    public ResponseEntity<Map<String, Integer>> markAllAsRead(@PathVariable Long userId) {
+        return ResponseEntity.ok(Map.of("updated", notificationService.markAllAsRead(userId)));
+    }
+    
     @PutMapping("/{id}/read")
     public ResponseEntity<Notification> markAsRead(@PathVariable Long id) {
         return ResponseEntity.ok(notificationService.markAsRead(id));
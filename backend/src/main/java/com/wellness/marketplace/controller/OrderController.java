@@ -1,11 +1,15 @@
 package com.wellness.marketplace.controller;
 
+import com.wellness.marketplace.dto.CheckoutRequest;
+import com.wellness.marketplace.dto.CheckoutResponse;
+import com.wellness.marketplace.dto.CursorPage;
+import com.wellness.marketplace.idempotency.IdempotencyService;
 import com.wellness.marketplace.model.Order;
+import com.wellness.marketplace.repository.KeysetPageRequest;
 import com.wellness.marketplace.service.OrderService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/orders")
@@ -15,14 +19,31 @@ public class OrderController {
     @Autowired
     private OrderService orderService;
     
+    @Autowired
+    private IdempotencyService idempotencyService;
+    
     @PostMapping
-    public ResponseEntity<Order> createOrder(@RequestBody Order order) {
-        return ResponseEntity.ok(orderService.createOrder(order));
+    public ResponseEntity<Order> createOrder(@RequestBody Order order,
+                                             @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, "POST /api/orders", order, Order.class,
+                () -> ResponseEntity.ok(orderService.createOrder(order)));
+    }
+    
+    @PostMapping("/checkout")
+    public ResponseEntity<CheckoutResponse> checkout(@RequestBody CheckoutRequest request,
+                                                     @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, "POST /api/orders/checkout", request, CheckoutResponse.class,
+                () -> ResponseEntity.ok(orderService.checkout(request)));
     }
     
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Order>> getUserOrders(@PathVariable Long userId) {
-        return ResponseEntity.ok(orderService.getUserOrders(userId));
+    public ResponseEntity<CursorPage<Order>> getUserOrders(@PathVariable Long userId,
+                                                           @RequestParam(required = false) String cursor,
+                                                           @RequestParam(required = false) Integer size,
+                                                           @RequestParam(required = false) String sort,
+                                                           @RequestParam(required = false) String status) {
+        KeysetPageRequest page = KeysetPageRequest.of(cursor, size, sort, "orderDate,desc", OrderService.SORTABLE);
+        return ResponseEntity.ok(orderService.getUserOrders(userId, page, status));
     }
     
     @PutMapping("/{id}/status")
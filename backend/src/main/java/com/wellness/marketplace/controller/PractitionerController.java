@@ -1,8 +1,15 @@
 package com.wellness.marketplace.controller;
 
+import com.wellness.marketplace.dto.CursorPage;
+import com.wellness.marketplace.dto.LeaderboardEntry;
+import com.wellness.marketplace.dto.PractitionerBulkVerifyRequest;
+import com.wellness.marketplace.dto.PractitionerDecisionResult;
+import com.wellness.marketplace.dto.PractitionerDirectoryEntry;
 import com.wellness.marketplace.dto.UnverifiedPractitionerDTO;
 import com.wellness.marketplace.dto.PractitionerVerifyRequest;
 import com.wellness.marketplace.model.PractitionerProfile;
+import com.wellness.marketplace.repository.KeysetPageRequest;
+import com.wellness.marketplace.service.PractitionerLeaderboardService;
 import com.wellness.marketplace.service.PractitionerService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -17,24 +24,38 @@ public class PractitionerController {
     @Autowired
     private PractitionerService practitionerService;
     
+    @Autowired
+    private PractitionerLeaderboardService leaderboardService;
+    
     @PostMapping
     public ResponseEntity<PractitionerProfile> createProfile(@RequestBody PractitionerProfile profile) {
         return ResponseEntity.ok(practitionerService.createProfile(profile));
     }
     
     @GetMapping
-    public ResponseEntity<List<PractitionerProfile>> getAllPractitioners() {
-        return ResponseEntity.ok(practitionerService.getAllPractitioners());
+    public ResponseEntity<CursorPage<PractitionerDirectoryEntry>> getAllPractitioners(@RequestParam(required = false) String cursor,
+                                                                                      @RequestParam(required = false) Integer size,
+                                                                                      @RequestParam(required = false) String sort,
+                                                                                      @RequestParam(required = false) String specialization,
+                                                                                      @RequestParam(required = false) Boolean verified) {
+        KeysetPageRequest page = KeysetPageRequest.of(cursor, size, sort, "id", PractitionerService.SORTABLE);
+        return ResponseEntity.ok(practitionerService.getDirectory(page, specialization, verified));
     }
     
     @GetMapping("/verified")
-    public ResponseEntity<List<PractitionerProfile>> getVerifiedPractitioners() {
-        return ResponseEntity.ok(practitionerService.getVerifiedPractitioners());
+    public ResponseEntity<CursorPage<PractitionerDirectoryEntry>> getVerifiedPractitioners(@RequestParam(required = false) String cursor,
+                                                                                           @RequestParam(required = false) Integer size,
+                                                                                           @RequestParam(required = false) String sort) {
+        KeysetPageRequest page = KeysetPageRequest.of(cursor, size, sort, "id", PractitionerService.SORTABLE);
+        return ResponseEntity.ok(practitionerService.getDirectory(page, null, true));
     }
     
     @GetMapping("/unverified")
-    public ResponseEntity<List<UnverifiedPractitionerDTO>> getUnverifiedPractitioners() {
-        return ResponseEntity.ok(practitionerService.getUnverifiedPractitioners());
+    public ResponseEntity<CursorPage<UnverifiedPractitionerDTO>> getUnverifiedPractitioners(@RequestParam(required = false) String cursor,
+                                                                                          @RequestParam(required = false) Integer size,
+                                                                                          @RequestParam(required = false) String sort) {
+        KeysetPageRequest page = KeysetPageRequest.of(cursor, size, sort, "id", PractitionerService.QUEUE_SORTABLE);
+        return ResponseEntity.ok(practitionerService.getUnverifiedPractitioners(page));
     }
     
     @GetMapping("/user/{userId}")
@@ -43,8 +64,19 @@ public class PractitionerController {
     }
     
     @GetMapping("/specialization/{specialization}")
-    public ResponseEntity<List<PractitionerProfile>> getPractitionersBySpecialization(@PathVariable String specialization) {
-        return ResponseEntity.ok(practitionerService.getPractitionersBySpecialization(specialization));
+    public ResponseEntity<CursorPage<PractitionerDirectoryEntry>> getPractitionersBySpecialization(@PathVariable String specialization,
+                                                                                                   @RequestParam(required = false) String cursor,
+                                                                                                   @RequestParam(required = false) Integer size,
+                                                                                                   @RequestParam(required = false) String sort) {
+        KeysetPageRequest page = KeysetPageRequest.of(cursor, size, sort, "id", PractitionerService.SORTABLE);
+        return ResponseEntity.ok(practitionerService.getDirectory(page, specialization, null));
+    }
+    
+    @GetMapping("/leaderboard/{specialization}")
+    public ResponseEntity<List<LeaderboardEntry>> getLeaderboard(@PathVariable String specialization,
+                                                                 @RequestParam(defaultValue = PractitionerLeaderboardService.BY_RATING) String by,
+                                                                 @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(leaderboardService.getLeaderboard(specialization, by, limit));
     }
     
     @PutMapping("/{id}/verify")
@@ -57,6 +89,11 @@ public class PractitionerController {
         return ResponseEntity.ok(practitionerService.adminVerifyPractitioner(request));
     }
     
+    @PostMapping("/admin/verify/bulk")
+    public ResponseEntity<List<PractitionerDecisionResult>> decidePractitioners(@RequestBody PractitionerBulkVerifyRequest request) {
+        return ResponseEntity.ok(practitionerService.decidePractitioners(request));
+    }
+    
     @PutMapping("/{id}/rating")
     public ResponseEntity<PractitionerProfile> updateRating(@PathVariable Long id, @RequestParam Double rating) {
         return ResponseEntity.ok(practitionerService.updateRating(id, rating));
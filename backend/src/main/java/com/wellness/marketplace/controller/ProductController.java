@@ -1,6 +1,9 @@
 package com.wellness.marketplace.controller;
 
+import com.wellness.marketplace.dto.CursorPage;
+import com.wellness.marketplace.dto.ProductSearchHit;
 import com.wellness.marketplace.model.Product;
+import com.wellness.marketplace.repository.KeysetPageRequest;
 import com.wellness.marketplace.service.ProductService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -21,8 +24,30 @@ public class ProductController {
     }
     
     @GetMapping
-    public ResponseEntity<List<Product>> getAllProducts() {
-        return ResponseEntity.ok(productService.getAllProducts());
+    public ResponseEntity<CursorPage<Product>> getAllProducts(@RequestParam(required = false) String cursor,
+                                                             @RequestParam(required = false) Integer size,
+                                                             @RequestParam(required = false) String sort,
+                                                             @RequestParam(required = false) String category,
+                                                             @RequestParam(required = false) Double minPrice,
+                                                             @RequestParam(required = false) Double maxPrice,
+                                                             @RequestParam(required = false) Boolean inStock) {
+        KeysetPageRequest page = KeysetPageRequest.of(cursor, size, sort, "id", ProductService.SORTABLE);
+        return ResponseEntity.ok(productService.getProducts(page, category, minPrice, maxPrice, inStock));
+    }
+    
+    @GetMapping("/search")
+    public ResponseEntity<List<ProductSearchHit>> searchProducts(@RequestParam String q,
+                                                                 @RequestParam(required = false) Double minPrice,
+                                                                 @RequestParam(required = false) Double maxPrice,
+                                                                 @RequestParam(required = false) Boolean inStock,
+                                                                 @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(productService.searchProducts(q, minPrice, maxPrice, inStock, limit));
+    }
+    
+    @GetMapping("/suggest")
+    public ResponseEntity<List<String>> suggestTerms(@RequestParam String prefix,
+                                                     @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(productService.suggestTerms(prefix, limit));
     }
     
     @GetMapping("/{id}")
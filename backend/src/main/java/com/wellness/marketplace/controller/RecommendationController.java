@@ -1,11 +1,12 @@
 package com.wellness.marketplace.controller;
 
+import com.wellness.marketplace.dto.CursorPage;
 import com.wellness.marketplace.model.Recommendation;
+import com.wellness.marketplace.repository.KeysetPageRequest;
 import com.wellness.marketplace.service.RecommendationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -24,7 +25,11 @@ public class RecommendationController {
     }
     
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Recommendation>> getUserRecommendations(@PathVariable Long userId) {
-        return ResponseEntity.ok(recommendationService.getUserRecommendations(userId));
+    public ResponseEntity<CursorPage<Recommendation>> getUserRecommendations(@PathVariable Long userId,
+                                                                             @RequestParam(required = false) String cursor,
+                                                                             @RequestParam(required = false) Integer size,
+                                                                             @RequestParam(required = false) String sort) {
+        KeysetPageRequest page = KeysetPageRequest.of(cursor, size, sort, "timestamp,desc", RecommendationService.SORTABLE);
+        return ResponseEntity.ok(recommendationService.getUserRecommendations(userId, page));
     }
 }
@@ -1,6 +1,9 @@
 package com.wellness.marketplace.controller;
 
+import com.wellness.marketplace.dto.CursorPage;
+import com.wellness.marketplace.dto.RatingSummary;
 import com.wellness.marketplace.model.Review;
+import com.wellness.marketplace.repository.KeysetPageRequest;
 import com.wellness.marketplace.service.ReviewService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -21,8 +24,13 @@ public class ReviewController {
     }
     
     @GetMapping("/practitioner/{practitionerId}")
-    public ResponseEntity<List<Review>> getPractitionerReviews(@PathVariable Long practitionerId) {
-        return ResponseEntity.ok(reviewService.getPractitionerReviews(practitionerId));
+    public ResponseEntity<CursorPage<Review>> getPractitionerReviews(@PathVariable Long practitionerId,
+                                                                     @RequestParam(required = false) String cursor,
+                                                                     @RequestParam(required = false) Integer size,
+                                                                     @RequestParam(required = false) String sort,
+                                                                     @RequestParam(required = false) Integer minRating) {
+        KeysetPageRequest page = KeysetPageRequest.of(cursor, size, sort, "createdAt,desc", ReviewService.SORTABLE);
+        return ResponseEntity.ok(reviewService.getPractitionerReviews(practitionerId, page, minRating));
     }
     
     @GetMapping("/user/{userId}")
@@ -34,4 +42,9 @@ public class ReviewController {
     public ResponseEntity<Double> getAverageRating(@PathVariable Long practitionerId) {
         return ResponseEntity.ok(reviewService.calculateAverageRating(practitionerId));
     }
+    
+    @GetMapping("/practitioner/{practitionerId}/histogram")
+    public ResponseEntity<RatingSummary> getRatingSummary(@PathVariable Long practitionerId) {
+        return ResponseEntity.ok(reviewService.getRatingSummary(practitionerId));
+    }
 }
@@ -1,11 +1,23 @@
 package com.wellness.marketplace.controller;
 
+import com.wellness.marketplace.dto.AvailabilitySlot;
+import com.wellness.marketplace.dto.CursorPage;
+import com.wellness.marketplace.dto.SessionBatchStatusRequest;
+import com.wellness.marketplace.dto.SessionCalendarEntry;
+import com.wellness.marketplace.dto.SessionStatusResult;
+import com.wellness.marketplace.idempotency.IdempotencyService;
 import com.wellness.marketplace.model.TherapySession;
+import com.wellness.marketplace.repository.KeysetPageRequest;
+import com.wellness.marketplace.service.SessionLifecycleService;
 import com.wellness.marketplace.service.TherapySessionService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/sessions")
@@ -15,9 +27,17 @@ public class TherapySessionController {
     @Autowired
     private TherapySessionService sessionService;
     
+    @Autowired
+    private IdempotencyService idempotencyService;
+    
+    @Autowired
+    private SessionLifecycleService lifecycleService;
+    
     @PostMapping
-    public ResponseEntity<TherapySession> bookSession(@RequestBody TherapySession session) {
-        return ResponseEntity.ok(sessionService.bookSession(session));
+    public ResponseEntity<TherapySession> bookSession(@RequestBody TherapySession session,
+                                                      @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, "POST /api/sessions", session, TherapySession.class,
+                () -> ResponseEntity.ok(sessionService.bookSession(session)));
     }
     
     @GetMapping("/user/{userId}")
@@ -30,11 +50,53 @@ public class TherapySessionController {
         return ResponseEntity.ok(sessionService.getPractitionerSessions(practitionerId));
     }
     
+    @GetMapping("/user/{userId}/calendar")
+    public ResponseEntity<CursorPage<SessionCalendarEntry>> getUserCalendar(@PathVariable Long userId,
+                                                                            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                                            @RequestParam(required = false) Set<String> status,
+                                                                            @RequestParam(required = false) String cursor,
+                                                                            @RequestParam(required = false) Integer size,
+                                                                            @RequestParam(required = false) String sort) {
+        KeysetPageRequest page = KeysetPageRequest.of(cursor, size, sort, "date", TherapySessionService.CALENDAR_SORTABLE);
+        return ResponseEntity.ok(sessionService.getCalendar("userId", userId, from, to, status, page));
+    }
+    
+    @GetMapping("/practitioner/{practitionerId}/calendar")
+    public ResponseEntity<CursorPage<SessionCalendarEntry>> getPractitionerCalendar(@PathVariable Long practitionerId,
+                                                                                    @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                                    @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                                                    @RequestParam(required = false) Set<String> status,
+                                                                                    @RequestParam(required = false) String cursor,
+                                                                                    @RequestParam(required = false) Integer size,
+                                                                                    @RequestParam(required = false) String sort) {
+        KeysetPageRequest page = KeysetPageRequest.of(cursor, size, sort, "date", TherapySessionService.CALENDAR_SORTABLE);
+        return ResponseEntity.ok(sessionService.getCalendar("practitionerId", practitionerId, from, to, status, page));
+    }
+    
+    @GetMapping("/practitioner/{practitionerId}/availability")
+    public ResponseEntity<List<AvailabilitySlot>> getAvailability(@PathVariable Long practitionerId,
+                                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(sessionService.getAvailability(practitionerId, from, to));
+    }
+    
     @PutMapping("/{id}/status")
     public ResponseEntity<TherapySession> updateStatus(@PathVariable Long id, @RequestParam String status) {
         return ResponseEntity.ok(sessionService.updateSessionStatus(id, status));
     }
     
+    @PostMapping("/status/bulk")
+    public ResponseEntity<List<SessionStatusResult>> updateStatuses(@RequestBody SessionBatchStatusRequest request) {
+        return ResponseEntity.ok(lifecycleService.updateStatuses(request));
+    }
+    
+    @PutMapping("/{id}/date")
+    public ResponseEntity<TherapySession> reschedule(@PathVariable Long id,
+                                                     @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime date) {
+        return ResponseEntity.ok(sessionService.rescheduleSession(id, date));
+    }
+    
     @PutMapping("/{id}/notes")
     public ResponseEntity<TherapySession> addNotes(@PathVariable Long id, @RequestBody String notes) {
         return ResponseEntity.ok(sessionService.addNotes(id, notes));
@@ -0,0 +1,14 @@
+package com.wellness.marketplace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilitySlot {
+    private LocalDateTime start;
+    private LocalDateTime end;
+}
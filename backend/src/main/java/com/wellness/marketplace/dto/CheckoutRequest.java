@@ -0,0 +1,22 @@
+package com.wellness.marketplace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckoutRequest {
+    private Long userId;
+    private List<Item> items;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private Long productId;
+        private Integer quantity;
+    }
+}
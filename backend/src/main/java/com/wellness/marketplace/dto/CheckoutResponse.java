@@ -0,0 +1,16 @@
+package com.wellness.marketplace.dto;
+
+import com.wellness.marketplace.model.Checkout;
+import com.wellness.marketplace.model.Order;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckoutResponse {
+    private Checkout checkout;
+    private List<Order> lines; // one order row per product, linked by checkoutId
+}
@@ -0,0 +1,18 @@
+package com.wellness.marketplace.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportRowResult {
+    private Long line;
+    private String key;
+    private String status; // created, updated, duplicate or invalid
+    private Long id;
+    private String error;
+}
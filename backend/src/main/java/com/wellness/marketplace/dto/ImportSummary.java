@@ -0,0 +1,17 @@
+package com.wellness.marketplace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportSummary {
+    private boolean summary = true;
+    private long processed;
+    private long created;
+    private long updated;
+    private long duplicates;
+    private long invalid;
+}
@@ -0,0 +1,20 @@
+package com.wellness.marketplace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderboardEntry {
+    private Integer rank;
+    private Long practitionerId;
+    private Long userId;
+    private String name;
+    private String specialization;
+    private Double rating;
+    private Long reviewCount;
+    private Long recentBookings;
+    private Double score; // Bayesian-adjusted rating
+}
@@ -0,0 +1,14 @@
+package com.wellness.marketplace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PractitionerBulkVerifyRequest {
+    private List<PractitionerVerifyRequest> approve;
+    private List<Long> reject; // user ids
+}
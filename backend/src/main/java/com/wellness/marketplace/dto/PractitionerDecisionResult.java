@@ -0,0 +1,17 @@
+package com.wellness.marketplace.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PractitionerDecisionResult {
+    private Long userId;
+    private String status; // approved, rejected or skipped
+    private Long profileId;
+    private String error;
+}
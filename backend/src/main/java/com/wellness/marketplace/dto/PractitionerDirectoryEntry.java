@@ -0,0 +1,19 @@
+package com.wellness.marketplace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PractitionerDirectoryEntry {
+    private Long id; // profile id, used as practitionerId for sessions and reviews
+    private Long userId;
+    private String name;
+    private String bio;
+    private String specialization;
+    private Boolean verified;
+    private Double rating;
+    private Long reviewCount;
+}
@@ -0,0 +1,18 @@
+package com.wellness.marketplace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSearchHit {
+    private Long id;
+    private String name;
+    private String description;
+    private Double price;
+    private String category;
+    private Integer stock;
+    private double score;
+}
@@ -0,0 +1,16 @@
+package com.wellness.marketplace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RatingSummary {
+    private Long practitionerId;
+    private Long reviewCount;
+    private Double average;
+    private Map<Integer, Long> histogram; // stars (1-5) to number of reviews
+}
@@ -0,0 +1,20 @@
+package com.wellness.marketplace.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SalesSummary {
+    private String category;  // set when grouped by category
+    private Long productId;   // set when grouped by product
+    private LocalDate day;    // set when grouped by day
+    private long quantity;
+    private double revenue;
+    private long orderCount;
+}
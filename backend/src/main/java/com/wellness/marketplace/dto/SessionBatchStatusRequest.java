@@ -0,0 +1,15 @@
+package com.wellness.marketplace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionBatchStatusRequest {
+    private Long practitionerId; // required for admins; practitioners act on their own profile
+    private List<Long> sessionIds;
+    private String status; // completed, no_show or cancelled
+}
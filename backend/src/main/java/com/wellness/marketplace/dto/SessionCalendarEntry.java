@@ -0,0 +1,17 @@
+package com.wellness.marketplace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionCalendarEntry {
+    private Long id;
+    private Long practitionerId;
+    private Long userId;
+    private LocalDateTime date;
+    private String status;
+}
@@ -0,0 +1,16 @@
+package com.wellness.marketplace.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SessionStatusResult {
+    private Long sessionId;
+    private String status; // updated or skipped
+    private String error;
+}
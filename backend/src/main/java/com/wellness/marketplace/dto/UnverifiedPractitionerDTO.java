@@ -1,5 +1,6 @@
 package com.wellness.marketplace.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -12,4 +13,12 @@ public class UnverifiedPractitionerDTO {
     private String name;
     private String email;
     private String bio;
+    
+    /**
+     * The user id under the name the keyset cursor reads; not serialized.
+     */
+    @JsonIgnore
+    public Long getId() {
+        return userId;
+    }
 }
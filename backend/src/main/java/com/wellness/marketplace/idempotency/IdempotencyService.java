@@ -0,0 +1,156 @@
+package com.wellness.marketplace.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Runs a write at most once per {@code Idempotency-Key}. A retry with the same key and body gets the
+ * stored response replayed without the write running again; a retry that arrives while the first
+ * attempt is still running waits for it. Keys are scoped to the caller and the endpoint, and reusing
+ * a key with a different body is rejected with 422. Failed attempts are not stored, so they can be retried.
+ */
+@Component
+public class IdempotencyService {
+    
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    
+    @Autowired
+    private IdempotencyStore store;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Value("${idempotency.ttl-ms:86400000}")
+    private long ttlMs;
+    
+    @Value("${idempotency.wait-timeout-ms:10000}")
+    private long waitTimeoutMs;
+    
+    private final ConcurrentMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    
+    /**
+     * @param request the request body, hashed before {@code action} runs since actions may modify it
+     */
+    public <T> ResponseEntity<T> execute(String idempotencyKey, String endpoint, Object request,
+                                         Class<T> responseType, Supplier<ResponseEntity<T>> action) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+        if (idempotencyKey.length() > 255) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, HEADER + " must be at most 255 characters");
+        }
+        String key = sha256(principal() + "|" + endpoint + "|" + idempotencyKey);
+        String requestHash = sha256(toJson(request));
+        
+        Optional<IdempotencyStore.StoredResponse> stored = store.find(key);
+        if (stored.isPresent()) {
+            return replay(stored.get(), requestHash, responseType);
+        }
+        
+        InFlight mine = new InFlight(requestHash, new CompletableFuture<>());
+        InFlight running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            if (!running.requestHash.equals(requestHash)) {
+                throw mismatch();
+            }
+            return replay(await(running.result), requestHash, responseType);
+        }
+        
+        try {
+            // Another attempt may have completed between the lookup and claiming the key
+            stored = store.find(key);
+            if (stored.isPresent()) {
+                mine.result.complete(stored.get());
+                return replay(stored.get(), requestHash, responseType);
+            }
+            
+            ResponseEntity<T> response = action.get();
+            IdempotencyStore.StoredResponse completed = new IdempotencyStore.StoredResponse(requestHash,
+                    response.getStatusCode().value(), toJson(response.getBody()), Instant.now().plusMillis(ttlMs));
+            store.save(key, completed);
+            mine.result.complete(completed);
+            return response;
+        } catch (RuntimeException e) {
+            mine.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+    
+    private <T> ResponseEntity<T> replay(IdempotencyStore.StoredResponse stored, String requestHash, Class<T> responseType) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw mismatch();
+        }
+        try {
+            T body = stored.body() == null ? null : objectMapper.readValue(stored.body(), responseType);
+            return ResponseEntity.status(stored.status()).header(REPLAYED_HEADER, "true").body(body);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not replay stored response", e);
+        }
+    }
+    
+    private IdempotencyStore.StoredResponse await(CompletableFuture<IdempotencyStore.StoredResponse> result) {
+        try {
+            return result.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // The first attempt failed; duplicates that waited on it fail the same way
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "A request with this " + HEADER + " is still in progress");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+    
+    private static ResponseStatusException mismatch() {
+        return new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                HEADER + " was already used with a different request body");
+    }
+    
+    private static String principal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? "anonymous" : authentication.getName();
+    }
+    
+    private static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not serialize " + value.getClass().getSimpleName(), e);
+        }
+    }
+    
+    private record InFlight(String requestHash, CompletableFuture<IdempotencyStore.StoredResponse> result) {
+    }
+}
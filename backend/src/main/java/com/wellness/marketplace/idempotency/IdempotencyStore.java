@@ -0,0 +1,17 @@
+package com.wellness.marketplace.idempotency;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Completed responses for idempotent writes, kept until they expire.
+ */
+public interface IdempotencyStore {
+    
+    record StoredResponse(String requestHash, int status, String body, Instant expiresAt) {
+    }
+    
+    Optional<StoredResponse> find(String key);
+    
+    void save(String key, StoredResponse response);
+}
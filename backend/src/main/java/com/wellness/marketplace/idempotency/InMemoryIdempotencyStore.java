@@ -0,0 +1,33 @@
+package com.wellness.marketplace.idempotency;
+
+import com.wellness.marketplace.cache.ExpiringCache;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import java.util.Optional;
+
+@Component
+@ConditionalOnProperty(name = "idempotency.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+    
+    @Value("${idempotency.max-size:100000}")
+    private int maxSize;
+    
+    private ExpiringCache<String, StoredResponse> responses;
+    
+    @PostConstruct
+    void init() {
+        responses = new ExpiringCache<>(maxSize, 0);
+    }
+    
+    @Override
+    public Optional<StoredResponse> find(String key) {
+        return Optional.ofNullable(responses.get(key));
+    }
+    
+    @Override
+    public void save(String key, StoredResponse response) {
+        responses.put(key, response, response.expiresAt().toEpochMilli());
+    }
+}
@@ -0,0 +1,39 @@
+package com.wellness.marketplace.idempotency;
+
+import com.wellness.marketplace.model.IdempotencyRecord;
+import com.wellness.marketplace.repository.IdempotencyRecordRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Database-backed store so a retry routed to another instance still gets the original response.
+ */
+@Component
+@ConditionalOnProperty(name = "idempotency.store", havingValue = "jpa")
+public class JpaIdempotencyStore implements IdempotencyStore {
+    
+    @Autowired
+    private IdempotencyRecordRepository recordRepository;
+    
+    @Override
+    public Optional<StoredResponse> find(String key) {
+        Instant now = Instant.now();
+        return recordRepository.findById(key)
+                .filter(record -> record.getExpiresAt().isAfter(now))
+                .map(record -> new StoredResponse(record.getRequestHash(), record.getStatus(), record.getBody(), record.getExpiresAt()));
+    }
+    
+    @Override
+    public void save(String key, StoredResponse response) {
+        recordRepository.save(new IdempotencyRecord(key, response.requestHash(), response.status(), response.body(), response.expiresAt()));
+    }
+    
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        recordRepository.deleteExpired(Instant.now());
+    }
+}
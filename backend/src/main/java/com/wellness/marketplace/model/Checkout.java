@@ -0,0 +1,33 @@
+package com.wellness.marketplace.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "checkouts", indexes = {
+    @Index(name = "idx_checkouts_user_date", columnList = "userId, orderDate")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Checkout {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "checkouts_seq")
+    @SequenceGenerator(name = "checkouts_seq", sequenceName = "checkouts_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(nullable = false)
+    private Long userId;
+    
+    @Column(nullable = false)
+    private Double totalAmount;
+    
+    @Column(nullable = false)
+    private LocalDateTime orderDate;
+    
+    @Column(nullable = false)
+    private String status;
+}
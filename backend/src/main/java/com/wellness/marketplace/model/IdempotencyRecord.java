@@ -0,0 +1,32 @@
+package com.wellness.marketplace.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.Instant;
+
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+    @Index(name = "idx_idempotency_keys_expires", columnList = "expiresAt")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+    @Id
+    @Column(name = "idempotency_key", length = 64)
+    private String key;
+    
+    @Column(nullable = false, length = 64)
+    private String requestHash;
+    
+    @Column(nullable = false)
+    private Integer status;
+    
+    @Column(columnDefinition = "TEXT")
+    private String body;
+    
+    @Column(nullable = false)
+    private Instant expiresAt;
+}
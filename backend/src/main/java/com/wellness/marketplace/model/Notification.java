@@ -7,13 +7,17 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+    @Index(name = "idx_notifications_user_created", columnList = "userId, createdAt"),
+    @Index(name = "idx_notifications_user_status_created", columnList = "userId, status, createdAt")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Notification {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notifications_seq")
+    @SequenceGenerator(name = "notifications_seq", sequenceName = "notifications_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
@@ -26,7 +30,7 @@ public class Notification {
     private String message;
     
     @Column(nullable = false)
-    private String status; // read or unread
+    private NotificationStatus status;
     
     @Column(nullable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,65 @@
+package com.wellness.marketplace.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import jakarta.persistence.AttributeConverter;
+
+/**
+ * Read state of a notification. Stored as a one-byte code and serialized as {@code "unread"} / {@code "read"}.
+ */
+public enum NotificationStatus {
+    UNREAD(0, "unread"),
+    READ(1, "read");
+    
+    private final byte code;
+    private final String value;
+    
+    NotificationStatus(int code, String value) {
+        this.code = (byte) code;
+        this.value = value;
+    }
+    
+    public byte getCode() {
+        return code;
+    }
+    
+    @JsonValue
+    public String getValue() {
+        return value;
+    }
+    
+    /**
+     * Parses {@code "unread"} or {@code "read"}, ignoring case; null when the value is neither.
+     */
+    @JsonCreator
+    public static NotificationStatus fromValue(String value) {
+        for (NotificationStatus status : values()) {
+            if (status.value.equalsIgnoreCase(value)) {
+                return status;
+            }
+        }
+        return null;
+    }
+    
+    @jakarta.persistence.Converter(autoApply = true)
+    public static class Converter implements AttributeConverter<NotificationStatus, Byte> {
+        
+        @Override
+        public Byte convertToDatabaseColumn(NotificationStatus status) {
+            return status != null ? status.code : null;
+        }
+        
+        @Override
+        public NotificationStatus convertToEntityAttribute(Byte code) {
+            if (code == null) {
+                return null;
+            }
+            for (NotificationStatus status : values()) {
+                if (status.code == code) {
+                    return status;
+                }
+            }
+            throw new IllegalArgumentException("Unknown notification status code " + code);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.wellness.marketplace.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -7,13 +8,18 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+    @Index(name = "idx_orders_user_date", columnList = "userId, orderDate"),
+    @Index(name = "idx_orders_stock_pending", columnList = "stockPending, productId"),
+    @Index(name = "idx_orders_checkout", columnList = "checkoutId")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Order {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
@@ -33,4 +39,11 @@ public class Order {
     
     @Column(nullable = false)
     private String status;
+    
+    // Set on lines placed through a multi-item checkout
+    private Long checkoutId;
+    
+    // Set while the quantity is reserved in memory but not yet subtracted from products.stock
+    @JsonIgnore
+    private Boolean stockPending;
 }
@@ -6,13 +6,17 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "practitioner_profiles")
+@Table(name = "practitioner_profiles", indexes = {
+    @Index(name = "idx_practitioner_profiles_user", columnList = "userId"),
+    @Index(name = "idx_practitioner_profiles_specialization", columnList = "specialization")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class PractitionerProfile {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "practitioner_profiles_seq")
+    @SequenceGenerator(name = "practitioner_profiles_seq", sequenceName = "practitioner_profiles_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
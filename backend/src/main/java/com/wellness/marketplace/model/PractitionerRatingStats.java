@@ -0,0 +1,40 @@
+package com.wellness.marketplace.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Running review totals for one practitioner profile, maintained by {@code RatingAggregateService}.
+ */
+@Entity
+@Table(name = "practitioner_rating_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PractitionerRatingStats {
+    @Id
+    private Long practitionerId;
+    
+    @Column(nullable = false)
+    private Long ratingSum;
+    
+    @Column(nullable = false)
+    private Long reviewCount;
+    
+    @Column(nullable = false)
+    private Long stars1;
+    
+    @Column(nullable = false)
+    private Long stars2;
+    
+    @Column(nullable = false)
+    private Long stars3;
+    
+    @Column(nullable = false)
+    private Long stars4;
+    
+    @Column(nullable = false)
+    private Long stars5;
+}
@@ -4,15 +4,23 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+    @Index(name = "idx_products_category", columnList = "category"),
+    @Index(name = "idx_products_name", columnList = "name"),
+    @Index(name = "idx_products_price", columnList = "price"),
+    @Index(name = "idx_products_sku", columnList = "sku", unique = true)
+})
+@DynamicUpdate // updates only write changed columns, so they never overwrite a concurrent stock decrement
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Product {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "products_seq")
+    @SequenceGenerator(name = "products_seq", sequenceName = "products_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
@@ -29,4 +37,8 @@ public class Product {
     
     @Column(nullable = false)
     private Integer stock;
+    
+    // Supplier stock-keeping unit; identifies the product in bulk imports
+    @Column(length = 64)
+    private String sku;
 }
@@ -7,13 +7,16 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "recommendations")
+@Table(name = "recommendations", indexes = {
+    @Index(name = "idx_recommendations_user_timestamp", columnList = "userId, timestamp")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Recommendation {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recommendations_seq")
+    @SequenceGenerator(name = "recommendations_seq", sequenceName = "recommendations_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
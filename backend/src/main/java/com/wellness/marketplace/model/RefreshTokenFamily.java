@@ -0,0 +1,30 @@
+package com.wellness.marketplace.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.Instant;
+
+@Entity
+@Table(name = "refresh_token_families")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshTokenFamily {
+    @Id
+    @Column(length = 36)
+    private String familyId;
+    
+    @Column(nullable = false)
+    private String email;
+    
+    @Column(nullable = false, length = 36)
+    private String currentTokenId;
+    
+    @Column(nullable = false)
+    private Boolean revoked = false;
+    
+    @Column(nullable = false)
+    private Instant expiresAt;
+}
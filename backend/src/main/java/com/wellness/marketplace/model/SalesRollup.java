@@ -0,0 +1,44 @@
+package com.wellness.marketplace.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "sales_rollups", indexes = {
+    @Index(name = "idx_sales_rollups_date_category", columnList = "saleDate, category")
+})
+@IdClass(SalesRollup.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesRollup {
+    @Id
+    private Long productId;
+    
+    @Id
+    private LocalDate saleDate;
+    
+    @Column(nullable = false)
+    private String category;
+    
+    @Column(nullable = false)
+    private Long quantity;
+    
+    @Column(nullable = false)
+    private Double revenue;
+    
+    @Column(nullable = false)
+    private Long orderCount;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long productId;
+        private LocalDate saleDate;
+    }
+}
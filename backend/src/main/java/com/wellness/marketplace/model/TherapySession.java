@@ -7,13 +7,19 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "therapy_sessions")
+@Table(name = "therapy_sessions", indexes = {
+    @Index(name = "idx_therapy_sessions_practitioner_date", columnList = "practitionerId, date"),
+    @Index(name = "idx_therapy_sessions_user_date", columnList = "userId, date"),
+    @Index(name = "idx_therapy_sessions_practitioner_booked", columnList = "practitionerId, bookedAt"),
+    @Index(name = "idx_therapy_sessions_status_date", columnList = "status, date")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class TherapySession {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "therapy_sessions_seq")
+    @SequenceGenerator(name = "therapy_sessions_seq", sequenceName = "therapy_sessions_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
@@ -30,4 +36,10 @@ public class TherapySession {
     
     @Column(columnDefinition = "TEXT")
     private String notes;
+    
+    @Column
+    private LocalDateTime bookedAt;
+    
+    @Column
+    private Integer remindersSent = 0; // 1 after the 24 hour reminder, 2 after the 1 hour reminder
 }
@@ -1,18 +1,25 @@
 package com.wellness.marketplace.model;
 
+import com.wellness.marketplace.cache.UserCacheListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+    @Index(name = "idx_users_role", columnList = "role"),
+    @Index(name = "idx_users_role_name", columnList = "role, name")
+})
+@EntityListeners(UserCacheListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
@@ -29,4 +36,7 @@ public class User {
     
     @Column(columnDefinition = "TEXT")
     private String bio;
+    
+    // Set when an admin turns down a practitioner's application; keeps them out of the verification queue
+    private LocalDateTime practitionerRejectedAt;
 }
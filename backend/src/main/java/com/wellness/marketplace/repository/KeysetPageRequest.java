@@ -0,0 +1,49 @@
+package com.wellness.marketplace.repository;
+
+import lombok.Getter;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import java.util.Set;
+
+/**
+ * A validated page request: an opaque cursor, a capped page size and one sort attribute, with the
+ * entity id always used as the tie-breaker so the ordering is stable.
+ */
+@Getter
+public class KeysetPageRequest {
+    
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    
+    private final String cursor;
+    private final int size;
+    private final String sortAttribute;
+    private final Sort.Direction direction;
+    
+    private KeysetPageRequest(String cursor, int size, String sortAttribute, Sort.Direction direction) {
+        this.cursor = cursor;
+        this.size = size;
+        this.sortAttribute = sortAttribute;
+        this.direction = direction;
+    }
+    
+    /**
+     * @param sort        "attribute" or "attribute,asc|desc"; falls back to {@code defaultSort} when empty
+     * @param sortable    attributes clients may sort by; each must be a non-null column
+     */
+    public static KeysetPageRequest of(String cursor, Integer size, String sort, String defaultSort, Set<String> sortable) {
+        String[] parts = (sort == null || sort.isBlank() ? defaultSort : sort).split(",");
+        String attribute = parts[0].trim();
+        if (!sortable.contains(attribute)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cannot sort by '" + attribute + "', expected one of " + sortable);
+        }
+        Sort.Direction direction = Sort.Direction.ASC;
+        if (parts.length > 1) {
+            direction = Sort.Direction.fromOptionalString(parts[1].trim())
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Sort direction must be asc or desc"));
+        }
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        return new KeysetPageRequest(cursor == null || cursor.isBlank() ? null : cursor, pageSize, attribute, direction);
+    }
+}
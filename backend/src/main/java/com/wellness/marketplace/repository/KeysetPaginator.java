@@ -0,0 +1,158 @@
+package com.wellness.marketplace.repository;
+
+import com.wellness.marketplace.dto.CursorPage;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.*;
+import lombok.Getter;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Runs seek-method page queries: {@code WHERE (sortKey, id) > (:lastKey, :lastId) ORDER BY sortKey, id LIMIT n}.
+ * Unlike OFFSET, the cost of a page does not grow with how deep into the result the client is.
+ */
+@Component
+public class KeysetPaginator {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    public <T> CursorPage<T> find(Class<T> type, KeysetPageRequest page, Specification<T> filter) {
+        return find(type, type, page, filter, (root, query, cb) -> root);
+    }
+    
+    /**
+     * Pages {@code type} but returns whatever {@code projection} selects, e.g. a DTO built with
+     * {@code cb.construct} over joined entities. The result type must expose the sort attribute
+     * and {@code id} as properties so the next cursor can be built from the last row.
+     */
+    public <T, R> CursorPage<R> find(Class<T> type, Class<R> resultType, KeysetPageRequest page,
+                                     Specification<T> filter, Projection<T, R> projection) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<R> query = cb.createQuery(resultType);
+        Root<T> root = query.from(type);
+        query.select(projection.select(root, query, cb));
+        
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter != null) {
+            Predicate predicate = filter.toPredicate(root, query, cb);
+            if (predicate != null) {
+                predicates.add(predicate);
+            }
+        }
+        
+        Path<Comparable<Object>> key = root.get(page.getSortAttribute());
+        Path<Long> id = root.get("id");
+        boolean ascending = page.getDirection().isAscending();
+        
+        if (page.getCursor() != null) {
+            Cursor cursor = Cursor.decode(page.getCursor());
+            if (!cursor.attribute.equals(page.getSortAttribute()) || cursor.direction != page.getDirection()) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor does not match the requested sort");
+            }
+            Comparable<Object> lastKey = cursor.typedValue(key.getJavaType());
+            if ("id".equals(page.getSortAttribute())) {
+                predicates.add(ascending ? cb.greaterThan(id, cursor.id) : cb.lessThan(id, cursor.id));
+            } else {
+                predicates.add(ascending
+                        ? cb.or(cb.greaterThan(key, lastKey), cb.and(cb.equal(key, lastKey), cb.greaterThan(id, cursor.id)))
+                        : cb.or(cb.lessThan(key, lastKey), cb.and(cb.equal(key, lastKey), cb.lessThan(id, cursor.id))));
+            }
+        }
+        
+        query.where(predicates.toArray(new Predicate[0]));
+        if ("id".equals(page.getSortAttribute())) {
+            query.orderBy(ascending ? cb.asc(id) : cb.desc(id));
+        } else {
+            query.orderBy(ascending ? cb.asc(key) : cb.desc(key), ascending ? cb.asc(id) : cb.desc(id));
+        }
+        
+        List<R> rows = entityManager.createQuery(query)
+                .setMaxResults(page.getSize() + 1)
+                .getResultList();
+        
+        boolean hasMore = rows.size() > page.getSize();
+        List<R> items = hasMore ? new ArrayList<>(rows.subList(0, page.getSize())) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            BeanWrapperImpl last = new BeanWrapperImpl(items.get(items.size() - 1));
+            nextCursor = Cursor.encode(page.getSortAttribute(), page.getDirection(),
+                    last.getPropertyValue(page.getSortAttribute()), (Long) last.getPropertyValue("id"));
+        }
+        return new CursorPage<>(items, nextCursor, hasMore);
+    }
+    
+    @FunctionalInterface
+    public interface Projection<T, R> {
+        Selection<? extends R> select(Root<T> root, CriteriaQuery<R> query, CriteriaBuilder cb);
+    }
+    
+    /**
+     * Opaque continuation token: base64url of the sort attribute, direction, last id and last sort value.
+     */
+    @Getter
+    public static final class Cursor {
+        private final String attribute;
+        private final Sort.Direction direction;
+        private final Long id;
+        private final String value;
+        
+        private Cursor(String attribute, Sort.Direction direction, Long id, String value) {
+            this.attribute = attribute;
+            this.direction = direction;
+            this.id = id;
+            this.value = value;
+        }
+        
+        public static String encode(String attribute, Sort.Direction direction, Object value, Long id) {
+            String raw = attribute + "\n" + direction.name() + "\n" + id + "\n" + value;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+        
+        public static Cursor decode(String token) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+                String[] parts = raw.split("\n", 4);
+                return new Cursor(parts[0], Sort.Direction.valueOf(parts[1]), Long.valueOf(parts[2]), parts[3]);
+            } catch (RuntimeException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Malformed cursor");
+            }
+        }
+        
+        @SuppressWarnings("unchecked")
+        public <V> Comparable<V> typedValue(Class<?> type) {
+            try {
+                Object typed;
+                if (type == Long.class) {
+                    typed = Long.valueOf(value);
+                } else if (type == Integer.class) {
+                    typed = Integer.valueOf(value);
+                } else if (type == Double.class) {
+                    typed = Double.valueOf(value);
+                } else if (type == LocalDateTime.class) {
+                    typed = LocalDateTime.parse(value);
+                } else if (type == LocalDate.class) {
+                    typed = LocalDate.parse(value);
+                } else if (type == Boolean.class) {
+                    typed = Boolean.valueOf(value);
+                } else {
+                    typed = value;
+                }
+                return (Comparable<V>) typed;
+            } catch (RuntimeException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Malformed cursor");
+            }
+        }
+    }
+}
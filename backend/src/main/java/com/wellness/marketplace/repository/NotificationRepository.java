@@ -1,12 +1,31 @@
 package com.wellness.marketplace.repository;
 
 import com.wellness.marketplace.model.Notification;
+import com.wellness.marketplace.model.NotificationStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
     List<Notification> findByUserId(Long userId);
-    List<Notification> findByUserIdAndStatus(Long userId, String status);
+    List<Notification> findByUserIdAndStatus(Long userId, NotificationStatus status);
+    
+    // Conditional updates: the returned row count is how many notifications actually changed state
+    @Modifying(clearAutomatically = true)
+    @Query("update Notification n set n.status = :to where n.id = :id and n.status = :from")
+    int updateStatus(@Param("id") Long id, @Param("from") NotificationStatus from, @Param("to") NotificationStatus to);
+    
+    @Modifying(clearAutomatically = true)
+    @Query("update Notification n set n.status = :to where n.userId = :userId and n.status = :from")
+    int updateStatusByUserId(@Param("userId") Long userId, @Param("from") NotificationStatus from, @Param("to") NotificationStatus to);
+    
+    @Modifying(clearAutomatically = true)
+    @Query("update Notification n set n.status = :to where n.userId = :userId and n.id in :ids and n.status = :from")
+    int updateStatusByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids,
+                                    @Param("from") NotificationStatus from, @Param("to") NotificationStatus to);
 }
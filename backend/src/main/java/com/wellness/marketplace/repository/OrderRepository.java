@@ -1,12 +1,41 @@
 package com.wellness.marketplace.repository;
 
 import com.wellness.marketplace.model.Order;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
     List<Order> findByUserId(Long userId);
     List<Order> findByStatus(String status);
+    
+    @Query("select o from Order o where o.productId = :productId and o.stockPending = true")
+    List<Order> findStockPending(@Param("productId") Long productId);
+    
+    @Query("select distinct o.productId from Order o where o.stockPending = true")
+    List<Long> findProductIdsWithStockPending();
+    
+    @Transactional
+    @Modifying
+    @Query("update Order o set o.stockPending = null where o.id in :ids")
+    int clearStockPending(@Param("ids") Collection<Long> ids);
+    
+    // Forward-only cursor for exports; the caller must consume it inside a transaction and close it
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select o from Order o where o.orderDate >= :from and o.orderDate < :to order by o.id")
+    Stream<Order> streamByOrderDate(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 }
@@ -2,7 +2,10 @@ package com.wellness.marketplace.repository;
 
 import com.wellness.marketplace.model.PractitionerProfile;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,4 +14,7 @@ public interface PractitionerProfileRepository extends JpaRepository<Practitione
     Optional<PractitionerProfile> findByUserId(Long userId);
     List<PractitionerProfile> findByVerified(Boolean verified);
     List<PractitionerProfile> findBySpecialization(String specialization);
+    
+    @Query("select p.userId from PractitionerProfile p where p.userId in :userIds")
+    List<Long> findUserIdsWithProfile(@Param("userIds") Collection<Long> userIds);
 }
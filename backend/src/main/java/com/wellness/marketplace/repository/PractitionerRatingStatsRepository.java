@@ -0,0 +1,9 @@
+package com.wellness.marketplace.repository;
+
+import com.wellness.marketplace.model.PractitionerRatingStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PractitionerRatingStatsRepository extends JpaRepository<PractitionerRatingStats, Long> {
+}
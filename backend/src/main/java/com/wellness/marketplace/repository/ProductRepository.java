@@ -1,12 +1,35 @@
 package com.wellness.marketplace.repository;
 
 import com.wellness.marketplace.model.Product;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
     List<Product> findByCategory(String category);
     List<Product> findByStockGreaterThan(Integer stock);
+    List<Product> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    List<Product> findBySkuIn(Collection<String> skus);
+    
+    @Query("select p.stock from Product p where p.id = :id")
+    Optional<Integer> findStockById(@Param("id") Long id);
+    
+    // Conditional decrement: returns 0 instead of taking the stock negative
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Product p set p.stock = p.stock - :quantity where p.id = :id and p.stock >= :quantity")
+    int decrementStock(@Param("id") Long id, @Param("quantity") int quantity);
+    
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Product p set p.stock = p.stock + :delta where p.id = :id")
+    int adjustStock(@Param("id") Long id, @Param("delta") int delta);
 }
@@ -0,0 +1,30 @@
+package com.wellness.marketplace.repository;
+
+import com.wellness.marketplace.model.RefreshTokenFamily;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.Instant;
+
+@Repository
+public interface RefreshTokenFamilyRepository extends JpaRepository<RefreshTokenFamily, String> {
+    
+    @Transactional
+    @Modifying
+    @Query("update RefreshTokenFamily f set f.currentTokenId = :newTokenId, f.expiresAt = :expiresAt " +
+           "where f.familyId = :familyId and f.currentTokenId = :presentedTokenId " +
+           "and f.revoked = false and f.expiresAt > :now")
+    int rotate(@Param("familyId") String familyId,
+               @Param("presentedTokenId") String presentedTokenId,
+               @Param("newTokenId") String newTokenId,
+               @Param("expiresAt") Instant expiresAt,
+               @Param("now") Instant now);
+    
+    @Transactional
+    @Modifying
+    @Query("update RefreshTokenFamily f set f.revoked = true where f.familyId = :familyId")
+    int revoke(@Param("familyId") String familyId);
+}
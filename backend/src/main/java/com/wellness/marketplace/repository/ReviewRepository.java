@@ -1,12 +1,26 @@
 package com.wellness.marketplace.repository;
 
 import com.wellness.marketplace.model.Review;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
     List<Review> findByPractitionerId(Long practitionerId);
     List<Review> findByUserId(Long userId);
+    
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select r from Review r where r.createdAt >= :from and r.createdAt < :to order by r.id")
+    Stream<Review> streamByCreatedAt(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 }
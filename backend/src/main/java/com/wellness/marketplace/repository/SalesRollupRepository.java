@@ -0,0 +1,28 @@
+package com.wellness.marketplace.repository;
+
+import com.wellness.marketplace.model.SalesRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface SalesRollupRepository extends JpaRepository<SalesRollup, SalesRollup.Key> {
+    
+    @Query("select r.category, sum(r.quantity), sum(r.revenue), sum(r.orderCount) from SalesRollup r " +
+           "where r.saleDate between :from and :to and (:category is null or r.category = :category) " +
+           "group by r.category order by sum(r.revenue) desc")
+    List<Object[]> sumByCategory(@Param("from") LocalDate from, @Param("to") LocalDate to, @Param("category") String category);
+    
+    @Query("select r.productId, sum(r.quantity), sum(r.revenue), sum(r.orderCount) from SalesRollup r " +
+           "where r.saleDate between :from and :to and (:category is null or r.category = :category) " +
+           "group by r.productId order by sum(r.revenue) desc")
+    List<Object[]> sumByProduct(@Param("from") LocalDate from, @Param("to") LocalDate to, @Param("category") String category);
+    
+    @Query("select r.saleDate, sum(r.quantity), sum(r.revenue), sum(r.orderCount) from SalesRollup r " +
+           "where r.saleDate between :from and :to and (:category is null or r.category = :category) " +
+           "group by r.saleDate order by r.saleDate")
+    List<Object[]> sumByDay(@Param("from") LocalDate from, @Param("to") LocalDate to, @Param("category") String category);
+}
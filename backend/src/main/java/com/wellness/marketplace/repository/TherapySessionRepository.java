@@ -1,13 +1,31 @@
 package com.wellness.marketplace.repository;
 
 import com.wellness.marketplace.model.TherapySession;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface TherapySessionRepository extends JpaRepository<TherapySession, Long> {
     List<TherapySession> findByUserId(Long userId);
     List<TherapySession> findByPractitionerId(Long practitionerId);
     List<TherapySession> findByStatus(String status);
+    
+    @Query("select s.date from TherapySession s where s.practitionerId = :practitionerId and s.date >= :from and s.status <> :excluded")
+    List<LocalDateTime> findActiveStarts(@Param("practitionerId") Long practitionerId, @Param("from") LocalDateTime from,
+                                         @Param("excluded") String excluded);
+    
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select s from TherapySession s where s.date >= :from and s.date < :to order by s.id")
+    Stream<TherapySession> streamByDate(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 }
@@ -0,0 +1,446 @@
+package com.wellness.marketplace.search;
+
+import com.wellness.marketplace.dto.ProductSearchHit;
+import com.wellness.marketplace.model.Product;
+import com.wellness.marketplace.repository.ProductRepository;
+import com.wellness.marketplace.util.AfterCommit;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over product name, category and description.
+ * <p>
+ * Every product gets a dense slot number and each term maps to a slot-ordered postings list, so a
+ * multi-term query is a merge-intersection starting from the rarest term. The last query term also
+ * matches as a prefix (terms are kept in a sorted map), which is what makes typing-as-you-search work.
+ * Replaced products leave a tombstone that is skipped at query time until the next compaction.
+ */
+@Component
+public class ProductSearchIndex {
+    
+    private static final Logger log = LoggerFactory.getLogger(ProductSearchIndex.class);
+    
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int NAME_WEIGHT = 3;
+    private static final int CATEGORY_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final float PREFIX_MATCH_FACTOR = 0.7f;
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${search.products.rebuild-chunk-size:1000}")
+    private int rebuildChunkSize;
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Segment segment = new Segment();
+    private List<Doc> changedDuringRebuild;
+    private Timer queryTimer;
+    
+    @PostConstruct
+    void init() {
+        queryTimer = meterRegistry.timer("search.products.query");
+        Gauge.builder("search.products.documents", this, ProductSearchIndex::size).register(meterRegistry);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        
+        Segment fresh = new Segment();
+        long lastId = 0;
+        List<Product> chunk;
+        do {
+            chunk = productRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, rebuildChunkSize));
+            for (Product product : chunk) {
+                fresh.put(Doc.of(product));
+                lastId = product.getId();
+            }
+        } while (chunk.size() == rebuildChunkSize);
+        
+        lock.writeLock().lock();
+        try {
+            // Writes that raced with the scan may have been read before they happened
+            changedDuringRebuild.forEach(fresh::put);
+            changedDuringRebuild = null;
+            segment = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Indexed {} products for search", fresh.liveCount);
+    }
+    
+    /**
+     * Indexes the product as it is now. Inside a transaction the change is applied after commit.
+     */
+    public void productChanged(Product product) {
+        productsChanged(List.of(product));
+    }
+    
+    /**
+     * Bulk form of {@link #productChanged} that takes the write lock once for the whole batch.
+     */
+    public void productsChanged(Collection<Product> products) {
+        List<Doc> docs = products.stream().map(Doc::of).toList();
+        AfterCommit.run(() -> apply(docs));
+    }
+    
+    public List<ProductSearchHit> search(String query, Double minPrice, Double maxPrice, boolean inStock, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        // "yoga ma" completes "ma"; "yoga mat " does not
+        boolean lastIsPrefix = !Character.isWhitespace(query.charAt(query.length() - 1));
+        
+        long start = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            Segment current = segment;
+            List<Candidates> groups = new ArrayList<>(tokens.size());
+            for (int i = 0; i < tokens.size(); i++) {
+                boolean prefix = lastIsPrefix && i == tokens.size() - 1;
+                Candidates candidates = current.lookup(tokens.get(i), prefix);
+                if (candidates.size == 0) {
+                    return List.of();
+                }
+                groups.add(candidates);
+            }
+            groups.sort(Comparator.comparingInt(c -> c.size));
+            
+            PriorityQueue<Scored> top = new PriorityQueue<>(limit + 1, Scored.WORST_FIRST);
+            Candidates driver = groups.get(0);
+            int[] positions = new int[groups.size()];
+            candidates:
+            for (int i = 0; i < driver.size; i++) {
+                int slot = driver.slots[i];
+                Doc doc = current.docs[slot];
+                if (doc == null || !doc.matches(minPrice, maxPrice, inStock)) {
+                    continue;
+                }
+                float score = driver.score(i);
+                for (int g = 1; g < groups.size(); g++) {
+                    Candidates other = groups.get(g);
+                    int found = Arrays.binarySearch(other.slots, positions[g], other.size, slot);
+                    if (found < 0) {
+                        positions[g] = -found - 1;
+                        continue candidates;
+                    }
+                    positions[g] = found;
+                    score += other.score(found);
+                }
+                if (top.size() == limit && !Scored.beats(score, doc, top.peek())) {
+                    continue;
+                }
+                top.offer(new Scored(doc, score));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            
+            List<ProductSearchHit> hits = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                Scored scored = top.poll();
+                Doc doc = scored.doc();
+                hits.add(new ProductSearchHit(doc.id(), doc.name(), doc.description(), doc.price(),
+                        doc.category(), doc.stock(), scored.score()));
+            }
+            Collections.reverse(hits);
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+            queryTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+    
+    /**
+     * Completions for the last word of {@code prefix}, most common first.
+     */
+    public List<String> suggest(String prefix, int limit) {
+        List<String> tokens = tokenize(prefix);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return segment.expand(tokens.get(tokens.size() - 1), limit).stream()
+                    .map(Map.Entry::getKey)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return segment.liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+    
+    private void apply(List<Doc> docs) {
+        lock.writeLock().lock();
+        try {
+            docs.forEach(segment::put);
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.addAll(docs);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * The index proper. Not thread-safe; guarded by the enclosing read/write lock.
+     */
+    private static final class Segment {
+        
+        private final TreeMap<String, Postings> terms = new TreeMap<>();
+        private final Map<Long, Integer> slotsById = new HashMap<>();
+        private Doc[] docs = new Doc[1024];
+        private int slotCount;
+        private int liveCount;
+        
+        void put(Doc doc) {
+            Integer slot = slotsById.get(doc.id());
+            if (slot != null) {
+                if (docs[slot].sameText(doc)) {
+                    // Price and stock changes do not touch the postings
+                    docs[slot] = doc;
+                    return;
+                }
+                docs[slot] = null;
+                liveCount--;
+            }
+            add(doc);
+            if (slotCount > 1024 && liveCount < slotCount / 2) {
+                compact();
+            }
+        }
+        
+        private void add(Doc doc) {
+            int slot = slotCount++;
+            if (slot == docs.length) {
+                docs = Arrays.copyOf(docs, docs.length * 2);
+            }
+            docs[slot] = doc;
+            slotsById.put(doc.id(), slot);
+            liveCount++;
+            
+            Map<String, Integer> weights = new HashMap<>();
+            addTerms(weights, doc.name(), NAME_WEIGHT);
+            addTerms(weights, doc.category(), CATEGORY_WEIGHT);
+            addTerms(weights, doc.description(), DESCRIPTION_WEIGHT);
+            weights.forEach((term, weight) -> terms.computeIfAbsent(term, t -> new Postings()).add(slot, weight));
+        }
+        
+        private static void addTerms(Map<String, Integer> weights, String text, int fieldWeight) {
+            for (String token : new HashSet<>(tokenize(text))) {
+                weights.merge(token, fieldWeight, Integer::sum);
+            }
+        }
+        
+        private void compact() {
+            Doc[] live = Arrays.stream(docs, 0, slotCount).filter(Objects::nonNull).toArray(Doc[]::new);
+            terms.clear();
+            slotsById.clear();
+            docs = new Doc[Math.max(1024, Integer.highestOneBit(live.length) * 2)];
+            slotCount = 0;
+            liveCount = 0;
+            for (Doc doc : live) {
+                add(doc);
+            }
+        }
+        
+        Candidates lookup(String token, boolean prefix) {
+            if (!prefix) {
+                Postings postings = terms.get(token);
+                return postings == null ? Candidates.EMPTY : new Candidates(postings, idf(postings));
+            }
+            List<Map.Entry<String, Postings>> expansions = expand(token, MAX_PREFIX_EXPANSIONS);
+            if (expansions.size() == 1 && expansions.get(0).getKey().equals(token)) {
+                Postings postings = expansions.get(0).getValue();
+                return new Candidates(postings, idf(postings));
+            }
+            
+            // Union of the expansions, keeping each slot's best score. Scores are positive, so their float bits
+            // order like the floats and one sort of (slot, score) pairs leaves each slot's best score last;
+            // the work is proportional to the matching postings, not to the catalog
+            int total = 0;
+            for (Map.Entry<String, Postings> e : expansions) {
+                total += e.getValue().size;
+            }
+            long[] pairs = new long[total];
+            int p = 0;
+            for (Map.Entry<String, Postings> e : expansions) {
+                Postings postings = e.getValue();
+                float factor = idf(postings) * (e.getKey().equals(token) ? 1f : PREFIX_MATCH_FACTOR);
+                for (int i = 0; i < postings.size; i++) {
+                    pairs[p++] = ((long) postings.slots[i] << 32) | Float.floatToIntBits(postings.weights[i] * factor);
+                }
+            }
+            Arrays.sort(pairs);
+            int[] slots = new int[total];
+            float[] scores = new float[total];
+            int size = 0;
+            for (int i = 0; i < total; i++) {
+                int slot = (int) (pairs[i] >>> 32);
+                if (i + 1 < total && (int) (pairs[i + 1] >>> 32) == slot) {
+                    continue;
+                }
+                slots[size] = slot;
+                scores[size] = Float.intBitsToFloat((int) pairs[i]);
+                size++;
+            }
+            return new Candidates(slots, scores, size);
+        }
+        
+        /**
+         * Terms starting with {@code prefix}, the {@code limit} most frequent first.
+         */
+        List<Map.Entry<String, Postings>> expand(String prefix, int limit) {
+            Comparator<Map.Entry<String, Postings>> byFrequency =
+                    Comparator.comparingInt((Map.Entry<String, Postings> e) -> e.getValue().size)
+                            .thenComparing(Map.Entry::getKey, Comparator.reverseOrder());
+            PriorityQueue<Map.Entry<String, Postings>> top = new PriorityQueue<>(limit + 1, byFrequency);
+            for (Map.Entry<String, Postings> e : terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false).entrySet()) {
+                top.offer(e);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            List<Map.Entry<String, Postings>> result = new ArrayList<>(top);
+            result.sort(byFrequency.reversed());
+            return result;
+        }
+        
+        private float idf(Postings postings) {
+            return (float) Math.log(1 + (double) Math.max(liveCount, 1) / postings.size);
+        }
+    }
+    
+    /**
+     * Slots containing one term, in ascending order, with the term's field weight in each.
+     */
+    private static final class Postings {
+        
+        private int[] slots = new int[4];
+        private byte[] weights = new byte[4];
+        private int size;
+        
+        void add(int slot, int weight) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            slots[size] = slot;
+            weights[size] = (byte) Math.min(weight, Byte.MAX_VALUE);
+            size++;
+        }
+    }
+    
+    /**
+     * The slots matching one query term, ascending, with the score each contributes.
+     */
+    private static final class Candidates {
+        
+        static final Candidates EMPTY = new Candidates(new int[0], new float[0], 0);
+        
+        final int[] slots;
+        final int size;
+        private final byte[] weights;
+        private final float factor;
+        private final float[] scores;
+        
+        Candidates(Postings postings, float idf) {
+            this.slots = postings.slots;
+            this.size = postings.size;
+            this.weights = postings.weights;
+            this.factor = idf;
+            this.scores = null;
+        }
+        
+        Candidates(int[] slots, float[] scores, int size) {
+            this.slots = slots;
+            this.size = size;
+            this.weights = null;
+            this.factor = 1f;
+            this.scores = scores;
+        }
+        
+        float score(int i) {
+            return scores != null ? scores[i] : weights[i] * factor;
+        }
+    }
+    
+    private record Doc(Long id, String name, String description, String category, Double price, Integer stock) {
+        
+        static Doc of(Product product) {
+            return new Doc(product.getId(), product.getName(), product.getDescription(),
+                    product.getCategory(), product.getPrice(), product.getStock());
+        }
+        
+        boolean sameText(Doc other) {
+            return Objects.equals(name, other.name)
+                    && Objects.equals(description, other.description)
+                    && Objects.equals(category, other.category);
+        }
+        
+        boolean matches(Double minPrice, Double maxPrice, boolean inStock) {
+            return (minPrice == null || (price != null && price >= minPrice))
+                    && (maxPrice == null || (price != null && price <= maxPrice))
+                    && (!inStock || (stock != null && stock > 0));
+        }
+    }
+    
+    private record Scored(Doc doc, float score) {
+        
+        static final Comparator<Scored> WORST_FIRST = Comparator.comparingDouble(Scored::score)
+                .thenComparing(s -> s.doc().id(), Comparator.reverseOrder());
+        
+        /**
+         * Whether a hit would rank above {@code worst}, checked before allocating it.
+         */
+        static boolean beats(float score, Doc doc, Scored worst) {
+            return score > worst.score() || (score == worst.score() && doc.id() < worst.doc().id());
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.wellness.marketplace.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Single-instance store. Families are also indexed by expiry, so a scheduled sweep drops expired ones without
+ * touching the rest and, once {@code auth.refresh-store.max-families} is reached, each new family evicts the one
+ * closest to expiry. Revoked families are kept until the next sweep.
+ */
+@Component
+@ConditionalOnProperty(name = "auth.refresh-store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRefreshTokenStore implements RefreshTokenStore {
+    
+    @Value("${auth.refresh-store.max-families:100000}")
+    private int maxFamilies;
+    
+    private final ConcurrentMap<String, Family> families = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Expiry> byExpiry = new ConcurrentSkipListSet<>();
+    
+    @Override
+    public void create(String familyId, String email, String tokenId, Instant expiresAt) {
+        families.put(familyId, new Family(tokenId, expiresAt, false));
+        byExpiry.add(new Expiry(expiresAt, familyId));
+        while (families.size() > maxFamilies) {
+            Expiry first = byExpiry.pollFirst();
+            if (first == null) {
+                break;
+            }
+            remove(first);
+        }
+    }
+    
+    @Override
+    public RotationResult rotate(String familyId, String presentedTokenId, String newTokenId, Instant expiresAt) {
+        Instant now = Instant.now();
+        RotationResult[] result = {RotationResult.UNKNOWN};
+        families.computeIfPresent(familyId, (id, family) -> {
+            if (family.revoked || family.expiresAt.isBefore(now)) {
+                return family;
+            }
+            if (!family.currentTokenId.equals(presentedTokenId)) {
+                result[0] = RotationResult.REUSED;
+                return new Family(family.currentTokenId, family.expiresAt, true);
+            }
+            result[0] = RotationResult.ROTATED;
+            byExpiry.remove(new Expiry(family.expiresAt, id));
+            byExpiry.add(new Expiry(expiresAt, id));
+            return new Family(newTokenId, expiresAt, false);
+        });
+        return result[0];
+    }
+    
+    @Override
+    public void revoke(String familyId) {
+        families.computeIfPresent(familyId, (id, family) -> new Family(family.currentTokenId, family.expiresAt, true));
+    }
+    
+    @Scheduled(fixedDelayString = "${auth.refresh-store.sweep-interval-ms:60000}")
+    public void sweep() {
+        Instant now = Instant.now();
+        for (Expiry expiry : byExpiry) {
+            if (!expiry.expiresAt.isBefore(now)) {
+                break;
+            }
+            byExpiry.remove(expiry);
+            remove(expiry);
+        }
+        families.forEach((id, family) -> {
+            if (family.revoked && families.remove(id, family)) {
+                byExpiry.remove(new Expiry(family.expiresAt, id));
+            }
+        });
+    }
+    
+    private void remove(Expiry expiry) {
+        // A family rotated since this entry was taken has a later expiry and stays
+        families.computeIfPresent(expiry.familyId, (id, family) -> family.expiresAt.equals(expiry.expiresAt) ? null : family);
+    }
+    
+    private record Family(String currentTokenId, Instant expiresAt, boolean revoked) {
+    }
+    
+    private record Expiry(Instant expiresAt, String familyId) implements Comparable<Expiry> {
+        @Override
+        public int compareTo(Expiry other) {
+            int byTime = expiresAt.compareTo(other.expiresAt);
+            return byTime != 0 ? byTime : familyId.compareTo(other.familyId);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.wellness.marketplace.security;
+
+import com.wellness.marketplace.model.RefreshTokenFamily;
+import com.wellness.marketplace.repository.RefreshTokenFamilyRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import java.time.Instant;
+
+/**
+ * Database-backed store for deployments running more than one instance.
+ */
+@Component
+@ConditionalOnProperty(name = "auth.refresh-store", havingValue = "jpa")
+public class JpaRefreshTokenStore implements RefreshTokenStore {
+    
+    @Autowired
+    private RefreshTokenFamilyRepository familyRepository;
+    
+    @Override
+    public void create(String familyId, String email, String tokenId, Instant expiresAt) {
+        familyRepository.save(new RefreshTokenFamily(familyId, email, tokenId, false, expiresAt));
+    }
+    
+    @Override
+    public RotationResult rotate(String familyId, String presentedTokenId, String newTokenId, Instant expiresAt) {
+        Instant now = Instant.now();
+        if (familyRepository.rotate(familyId, presentedTokenId, newTokenId, expiresAt, now) == 1) {
+            return RotationResult.ROTATED;
+        }
+        
+        RefreshTokenFamily family = familyRepository.findById(familyId).orElse(null);
+        if (family == null || family.getRevoked() || family.getExpiresAt().isBefore(now)) {
+            return RotationResult.UNKNOWN;
+        }
+        familyRepository.revoke(familyId);
+        return RotationResult.REUSED;
+    }
+    
+    @Override
+    public void revoke(String familyId) {
+        familyRepository.revoke(familyId);
+    }
+}
@@ -5,6 +5,7 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -24,6 +25,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsService userDetailsService;
     
+    @Value("${security.auth.stateless:true}")
+    private boolean stateless;
+    
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
                                     HttpServletResponse response, 
@@ -31,9 +35,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
             
-            if (StringUtils.hasText(jwt) && jwtUtil.validateToken(jwt)) {
-                String email = jwtUtil.getEmailFromToken(jwt);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+            VerifiedToken token = StringUtils.hasText(jwt) ? jwtUtil.verify(jwt).orElse(null) : null;
+            
+            // Refresh tokens are only accepted by /api/auth/refresh
+            if (token != null && token.isRefreshToken()) {
+                token = null;
+            }
+            
+            if (token != null) {
+                UserDetails userDetails = loadUserDetails(token);
                 
                 UsernamePasswordAuthenticationToken authentication = 
                     new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
@@ -48,6 +58,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
     
+    private UserDetails loadUserDetails(VerifiedToken token) {
+        // Tokens carrying a role claim are trusted as-is; older tokens without one fall back to the user lookup
+        if (stateless && StringUtils.hasText(token.getRole())) {
+            return new org.springframework.security.core.userdetails.User(
+                    token.getSubject(),
+                    "",
+                    CustomUserDetailsService.authoritiesFor(token.getRole())
+            );
+        }
+        return userDetailsService.loadUserByUsername(token.getSubject());
+    }
+    
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
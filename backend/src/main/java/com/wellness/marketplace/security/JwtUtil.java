@@ -1,15 +1,24 @@
 package com.wellness.marketplace.security;
 
+import com.wellness.marketplace.cache.ExpiringCache;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Optional;
 
 @Component
 public class JwtUtil {
     
+    public static final String REFRESH_TOKEN_TYPE = "refresh";
+    
     @Value("${jwt.secret}")
     private String jwtSecret;
     
@@ -19,65 +28,120 @@ public class JwtUtil {
     @Value("${jwt.refresh.expiration}")
     private long refreshExpirationMs;
     
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
-    }
+    @Value("${jwt.verify-cache.max-size:10000}")
+    private int verifyCacheMaxSize;
     
-    public String generateToken(String email) {
-        return Jwts.builder()
-                .setSubject(email)
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + jwtExpirationMs))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
-                .compact();
+    private Key signingKey;
+    
+    private JwtParser parser;
+    
+    // Keyed by token hash so raw tokens are never held; entries live until the token expires
+    private ExpiringCache<String, VerifiedToken> verifiedTokens;
+    
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        verifiedTokens = new ExpiringCache<>(verifyCacheMaxSize, jwtExpirationMs);
     }
     
-    public String generateToken(String email, String role) {
+    /**
+     * Access token carrying the role and the user id, so per-user channels need no lookup by email.
+     */
+    public String generateToken(String email, String role, Long userId) {
         return Jwts.builder()
                 .setSubject(email)
                 .claim("role", role)
+                .claim("uid", userId)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + jwtExpirationMs))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
     
-    public String generateRefreshToken(String email) {
+    public String generateRefreshToken(String email, String familyId, String tokenId) {
         return Jwts.builder()
                 .setSubject(email)
+                .setId(tokenId)
+                .claim("typ", REFRESH_TOKEN_TYPE)
+                .claim("fam", familyId)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + refreshExpirationMs))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
     
+    public long getRefreshExpirationMs() {
+        return refreshExpirationMs;
+    }
+    
+    /**
+     * Verifies the signature and expiry of a token, parsing it at most once while it stays cached.
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        String key = hash(token);
+        VerifiedToken cached = verifiedTokens.get(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        
+        Optional<VerifiedToken> verified = parse(token);
+        verified.filter(t -> t.getExpiration() != null)
+                .ifPresent(t -> verifiedTokens.put(key, t, t.getExpiration().getTime()));
+        return verified;
+    }
+    
+    /**
+     * Verifies a refresh token. Refresh tokens are single use, so they bypass the verified-token cache.
+     */
+    public Optional<VerifiedToken> verifyRefreshToken(String token) {
+        return parse(token).filter(VerifiedToken::isRefreshToken);
+    }
+    
+    private Optional<VerifiedToken> parse(String token) {
+        Claims claims;
+        try {
+            claims = parser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        
+        return Optional.of(new VerifiedToken(
+                claims.getSubject(),
+                claims.get("role", String.class),
+                claims.get("uid", Long.class),
+                claims.get("typ", String.class),
+                claims.getId(),
+                claims.get("fam", String.class),
+                claims.getExpiration()
+        ));
+    }
+    
     public String getEmailFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
+        return parser.parseClaimsJws(token)
                 .getBody()
                 .getSubject();
     }
     
     public String getRoleFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
+        return parser.parseClaimsJws(token)
                 .getBody()
                 .get("role", String.class);
     }
     
     public boolean validateToken(String token) {
+        return verify(token).isPresent();
+    }
+    
+    private static String hash(String token) {
         try {
-            Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
     }
 }
@@ -0,0 +1,68 @@
+package com.wellness.marketplace.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import java.util.Locale;
+
+/**
+ * Per-account and per-address throttles checked before any password hashing work is queued.
+ */
+@Component
+public class LoginThrottle {
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${auth.throttle.stripes:4096}")
+    private int stripes;
+    
+    @Value("${auth.throttle.email.burst:5}")
+    private int emailBurst;
+    
+    @Value("${auth.throttle.email.per-second:0.1}")
+    private double emailPerSecond;
+    
+    @Value("${auth.throttle.address.burst:20}")
+    private int addressBurst;
+    
+    @Value("${auth.throttle.address.per-second:1}")
+    private double addressPerSecond;
+    
+    private TokenBucketThrottle byEmail;
+    private TokenBucketThrottle byAddress;
+    private Counter emailRejections;
+    private Counter addressRejections;
+    
+    @PostConstruct
+    void init() {
+        byEmail = new TokenBucketThrottle(stripes, emailBurst, emailPerSecond);
+        byAddress = new TokenBucketThrottle(stripes, addressBurst, addressPerSecond);
+        emailRejections = meterRegistry.counter("auth.throttle.rejected", "key", "email");
+        addressRejections = meterRegistry.counter("auth.throttle.rejected", "key", "address");
+    }
+    
+    public void checkLogin(String email, String remoteAddress) {
+        checkAddress(remoteAddress);
+        if (email != null && !byEmail.tryAcquire(email.toLowerCase(Locale.ROOT))) {
+            emailRejections.increment();
+            throw tooManyRequests();
+        }
+    }
+    
+    public void checkAddress(String remoteAddress) {
+        if (remoteAddress != null && !byAddress.tryAcquire(remoteAddress)) {
+            addressRejections.increment();
+            throw tooManyRequests();
+        }
+    }
+    
+    private ResponseStatusException tooManyRequests() {
+        return new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many attempts, please try again later");
+    }
+}
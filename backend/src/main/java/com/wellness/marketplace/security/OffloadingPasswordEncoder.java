@@ -0,0 +1,32 @@
+package com.wellness.marketplace.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Delegates to another encoder but runs every hash and verification on the {@link PasswordHashingExecutor}.
+ */
+public class OffloadingPasswordEncoder implements PasswordEncoder {
+    
+    private final PasswordEncoder delegate;
+    private final PasswordHashingExecutor executor;
+    
+    public OffloadingPasswordEncoder(PasswordEncoder delegate, PasswordHashingExecutor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+    
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return executor.execute(() -> delegate.encode(rawPassword));
+    }
+    
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return executor.execute(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+    
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
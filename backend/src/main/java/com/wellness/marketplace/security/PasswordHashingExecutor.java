@@ -0,0 +1,96 @@
+package com.wellness.marketplace.security;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt work on a small dedicated pool so password hashing can never occupy more than a
+ * fixed share of the CPU or the servlet threads. When the queue is full callers get a 429 at once.
+ */
+@Component
+public class PasswordHashingExecutor {
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${auth.hashing.threads:0}")
+    private int threads;
+    
+    @Value("${auth.hashing.queue-capacity:100}")
+    private int queueCapacity;
+    
+    @Value("${auth.hashing.timeout-ms:5000}")
+    private long timeoutMs;
+    
+    private ThreadPoolExecutor executor;
+    private Timer hashTimer;
+    private Timer queueWaitTimer;
+    
+    @PostConstruct
+    void init() {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(
+                poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        
+        hashTimer = meterRegistry.timer("auth.password.hash");
+        queueWaitTimer = meterRegistry.timer("auth.password.queue.wait");
+        Gauge.builder("auth.password.queue.depth", executor, e -> e.getQueue().size()).register(meterRegistry);
+        Gauge.builder("auth.password.active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+    
+    public <T> T execute(Supplier<T> task) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                queueWaitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return hashTimer.record(task);
+            });
+        } catch (RejectedExecutionException e) {
+            throw busy();
+        }
+        
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw busy();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw busy();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+    
+    private ResponseStatusException busy() {
+        return new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Authentication service is busy, please retry shortly");
+    }
+}
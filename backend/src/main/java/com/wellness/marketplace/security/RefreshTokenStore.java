@@ -0,0 +1,22 @@
+package com.wellness.marketplace.security;
+
+import java.time.Instant;
+
+/**
+ * Tracks refresh-token families. Each family has exactly one live token id; presenting an older id
+ * means the token was copied and replayed, so the whole family is revoked.
+ */
+public interface RefreshTokenStore {
+    
+    enum RotationResult {
+        ROTATED,
+        REUSED,
+        UNKNOWN
+    }
+    
+    void create(String familyId, String email, String tokenId, Instant expiresAt);
+    
+    RotationResult rotate(String familyId, String presentedTokenId, String newTokenId, Instant expiresAt);
+    
+    void revoke(String familyId);
+}
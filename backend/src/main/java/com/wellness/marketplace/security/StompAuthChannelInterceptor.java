@@ -0,0 +1,67 @@
+package com.wellness.marketplace.security;
+
+import com.wellness.marketplace.cache.UserCache;
+import com.wellness.marketplace.model.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * Authenticates STOMP sessions with the same access tokens as the REST API, sent as an
+ * {@code Authorization: Bearer ...} header on CONNECT. The session principal's name is the user id, which
+ * is what {@code /user/queue/...} destinations resolve against; clients may subscribe to nothing else.
+ */
+@Component
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+    
+    @Autowired
+    private JwtUtil jwtUtil;
+    
+    @Autowired
+    private UserCache userCache;
+    
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+        if (accessor.getCommand() == StompCommand.CONNECT) {
+            accessor.setUser(authenticate(accessor.getFirstNativeHeader("Authorization")));
+        } else if (accessor.getCommand() == StompCommand.SEND) {
+            throw new AccessDeniedException("Sending is not supported");
+        } else if (accessor.getCommand() == StompCommand.SUBSCRIBE) {
+            String destination = accessor.getDestination();
+            if (accessor.getUser() == null || destination == null || !destination.startsWith("/user/queue/")) {
+                throw new AccessDeniedException("Destination not allowed");
+            }
+        }
+        return message;
+    }
+    
+    private UsernamePasswordAuthenticationToken authenticate(String header) {
+        if (!StringUtils.hasText(header) || !header.startsWith("Bearer ")) {
+            throw new AccessDeniedException("Missing access token");
+        }
+        VerifiedToken token = jwtUtil.verify(header.substring(7))
+                .filter(verified -> !verified.isRefreshToken())
+                .orElseThrow(() -> new AccessDeniedException("Invalid access token"));
+        Long userId = token.getUserId();
+        String role = token.getRole();
+        if (userId == null || role == null) {
+            User user = userCache.findByEmail(token.getSubject())
+                    .orElseThrow(() -> new AccessDeniedException("User not found"));
+            userId = user.getId();
+            role = user.getRole();
+        }
+        return new UsernamePasswordAuthenticationToken(String.valueOf(userId), null, CustomUserDetailsService.authoritiesFor(role));
+    }
+}
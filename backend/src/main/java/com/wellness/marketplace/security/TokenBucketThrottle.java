@@ -0,0 +1,57 @@
+package com.wellness.marketplace.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free token buckets spread over a fixed number of stripes. Keys are hashed onto a stripe, so
+ * memory stays constant no matter how many distinct keys are seen; colliding keys share a bucket.
+ * Each stripe packs the last refill time and the remaining milli-tokens into one long updated by CAS.
+ */
+public class TokenBucketThrottle {
+    
+    private static final int TOKEN_BITS = 20;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final long MILLI_TOKENS = 1000;
+    
+    private final AtomicLongArray buckets;
+    private final long capacity;
+    private final double refillPerMs;
+    private final long startNanos = System.nanoTime();
+    
+    public TokenBucketThrottle(int stripes, int burst, double refillPerSecond) {
+        if (burst * MILLI_TOKENS > TOKEN_MASK) {
+            throw new IllegalArgumentException("Burst too large: " + burst);
+        }
+        this.buckets = new AtomicLongArray(stripes);
+        this.capacity = burst * MILLI_TOKENS;
+        // refillPerSecond tokens per second is the same number of milli-tokens per millisecond
+        this.refillPerMs = refillPerSecond;
+    }
+    
+    public boolean tryAcquire(String key) {
+        int stripe = stripeFor(key);
+        // Offset by one so that a packed state of 0 always means "never used, full bucket"
+        long now = (System.nanoTime() - startNanos) / 1_000_000 + 1;
+        while (true) {
+            long state = buckets.get(stripe);
+            long tokens = capacity;
+            if (state != 0) {
+                long elapsed = Math.max(0, now - (state >>> TOKEN_BITS));
+                tokens = Math.min(capacity, (state & TOKEN_MASK) + (long) (elapsed * refillPerMs));
+            }
+            if (tokens < MILLI_TOKENS) {
+                return false;
+            }
+            long next = (now << TOKEN_BITS) | (tokens - MILLI_TOKENS);
+            if (buckets.compareAndSet(stripe, state, next)) {
+                return true;
+            }
+        }
+    }
+    
+    private int stripeFor(String key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return (h & 0x7fffffff) % buckets.length();
+    }
+}
@@ -0,0 +1,21 @@
+package com.wellness.marketplace.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.util.Date;
+
+@Data
+@AllArgsConstructor
+public class VerifiedToken {
+    private String subject;
+    private String role;
+    private Long userId; // null for tokens issued before the uid claim
+    private String type; // null for access tokens, "refresh" for refresh tokens
+    private String tokenId;
+    private String familyId;
+    private Date expiration;
+    
+    public boolean isRefreshToken() {
+        return JwtUtil.REFRESH_TOKEN_TYPE.equals(type);
+    }
+}
@@ -1,17 +1,26 @@
 package com.wellness.marketplace.service;
 
+import com.wellness.marketplace.cache.UserCache;
 import com.wellness.marketplace.dto.AuthResponse;
 import com.wellness.marketplace.dto.LoginRequest;
+import com.wellness.marketplace.dto.RefreshTokenRequest;
 import com.wellness.marketplace.dto.RegisterRequest;
 import com.wellness.marketplace.model.User;
 import com.wellness.marketplace.repository.UserRepository;
 import com.wellness.marketplace.security.JwtUtil;
+import com.wellness.marketplace.security.LoginThrottle;
+import com.wellness.marketplace.security.RefreshTokenStore;
+import com.wellness.marketplace.security.VerifiedToken;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import java.time.Instant;
+import java.util.UUID;
 
 @Service
 public class AuthService {
@@ -19,16 +28,27 @@ public class AuthService {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private UserCache userCache;
+    
     @Autowired
     private PasswordEncoder passwordEncoder;
     
     @Autowired
     private JwtUtil jwtUtil;
     
+    @Autowired
+    private RefreshTokenStore refreshTokenStore;
+    
     @Autowired
     private AuthenticationManager authenticationManager;
     
-    public AuthResponse register(RegisterRequest request) {
+    @Autowired
+    private LoginThrottle loginThrottle;
+    
+    public AuthResponse register(RegisterRequest request, String remoteAddress) {
+        loginThrottle.checkAddress(remoteAddress);
+        
         if (userRepository.existsByEmail(request.getEmail())) {
             throw new RuntimeException("Email already exists");
         }
@@ -42,23 +62,59 @@ public class AuthService {
         
         user = userRepository.save(user);
         
-        String token = jwtUtil.generateToken(user.getEmail(), user.getRole());
-        String refreshToken = jwtUtil.generateRefreshToken(user.getEmail());
+        String token = jwtUtil.generateToken(user.getEmail(), user.getRole(), user.getId());
+        String refreshToken = startRefreshFamily(user.getEmail());
         
         return new AuthResponse(token, refreshToken, user.getId(), user.getName(), user.getEmail(), user.getRole());
     }
     
-    public AuthResponse login(LoginRequest request) {
+    public AuthResponse login(LoginRequest request, String remoteAddress) {
+        loginThrottle.checkLogin(request.getEmail(), remoteAddress);
+        
         Authentication authentication = authenticationManager.authenticate(
             new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
         );
         
-        User user = userRepository.findByEmail(request.getEmail())
+        User user = userCache.findByEmail(request.getEmail())
                 .orElseThrow(() -> new RuntimeException("User not found"));
         
-        String token = jwtUtil.generateToken(user.getEmail(), user.getRole());
-        String refreshToken = jwtUtil.generateRefreshToken(user.getEmail());
+        String token = jwtUtil.generateToken(user.getEmail(), user.getRole(), user.getId());
+        String refreshToken = startRefreshFamily(user.getEmail());
         
         return new AuthResponse(token, refreshToken, user.getId(), user.getName(), user.getEmail(), user.getRole());
     }
+    
+    public AuthResponse refresh(RefreshTokenRequest request) {
+        VerifiedToken presented = jwtUtil.verifyRefreshToken(request.getRefreshToken())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid refresh token"));
+        
+        String newTokenId = UUID.randomUUID().toString();
+        RefreshTokenStore.RotationResult result = refreshTokenStore.rotate(
+                presented.getFamilyId(), presented.getTokenId(), newTokenId, refreshExpiry());
+        if (result == RefreshTokenStore.RotationResult.REUSED) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Refresh token reuse detected, please log in again");
+        }
+        if (result != RefreshTokenStore.RotationResult.ROTATED) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid refresh token");
+        }
+        
+        User user = userCache.findByEmail(presented.getSubject())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not found"));
+        
+        String token = jwtUtil.generateToken(user.getEmail(), user.getRole(), user.getId());
+        String refreshToken = jwtUtil.generateRefreshToken(user.getEmail(), presented.getFamilyId(), newTokenId);
+        
+        return new AuthResponse(token, refreshToken, user.getId(), user.getName(), user.getEmail(), user.getRole());
+    }
+    
+    private String startRefreshFamily(String email) {
+        String familyId = UUID.randomUUID().toString();
+        String tokenId = UUID.randomUUID().toString();
+        refreshTokenStore.create(familyId, email, tokenId, refreshExpiry());
+        return jwtUtil.generateRefreshToken(email, familyId, tokenId);
+    }
+    
+    private Instant refreshExpiry() {
+        return Instant.now().plusMillis(jwtUtil.getRefreshExpirationMs());
+    }
 }
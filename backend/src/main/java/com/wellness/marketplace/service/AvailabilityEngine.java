@@ -0,0 +1,210 @@
+package com.wellness.marketplace.service;
+
+import com.wellness.marketplace.dto.AvailabilitySlot;
+import com.wellness.marketplace.repository.PractitionerProfileRepository;
+import com.wellness.marketplace.repository.TherapySessionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Booked session slots per practitioner, kept in memory so availability searches and overlap checks
+ * do not query the sessions table.
+ * <p>
+ * Every session lasts {@code availability.session-minutes}, so each practitioner's calendar is a sorted map
+ * of start times and a slot overlaps a booking exactly when a start lies less than one session length either
+ * side of it. Start times are kept to the minute ({@link #slotStart}), the precision every database column holds,
+ * so a start read back from the table finds the slot it was reserved under. A calendar is loaded from upcoming
+ * non-cancelled sessions the first time an existing practitioner is touched; from then on bookings and status
+ * changes keep it current, and calendars left unused for {@code availability.calendar-idle-minutes} are
+ * dropped. Checking and reserving happen under the calendar's lock, so of two overlapping bookings only the
+ * first succeeds. Assumes a single application instance.
+ */
+@Service
+public class AvailabilityEngine {
+    
+    public static final String CANCELLED = "cancelled";
+    
+    private static final int MAX_SEARCH_DAYS = 31;
+    
+    @Autowired
+    private TherapySessionRepository sessionRepository;
+    
+    @Autowired
+    private PractitionerProfileRepository practitionerRepository;
+    
+    @Value("${availability.session-minutes:60}")
+    private int sessionMinutes;
+    
+    @Value("${availability.day-start:09:00}")
+    private LocalTime dayStart;
+    
+    @Value("${availability.day-end:17:00}")
+    private LocalTime dayEnd;
+    
+    @Value("${availability.calendar-idle-minutes:60}")
+    private long calendarIdleMinutes;
+    
+    private final Map<Long, Calendar> calendars = new ConcurrentHashMap<>();
+    
+    /**
+     * Claims the slot starting at {@code start}, or fails with 409 if it overlaps a booking. The caller must
+     * {@link #release} the slot if the session is not saved after all.
+     */
+    public void reserve(Long practitionerId, LocalDateTime start) {
+        start = slotStart(start);
+        Calendar calendar = calendar(practitionerId);
+        synchronized (calendar) {
+            if (calendar.overlaps(start, length())) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Practitioner is already booked at this time");
+            }
+            calendar.add(start);
+        }
+    }
+    
+    /**
+     * Moves a reservation, failing with 409 and keeping the old slot if the new one overlaps another booking.
+     */
+    public void move(Long practitionerId, LocalDateTime from, LocalDateTime to) {
+        from = slotStart(from);
+        to = slotStart(to);
+        Calendar calendar = calendar(practitionerId);
+        synchronized (calendar) {
+            calendar.remove(from);
+            if (calendar.overlaps(to, length())) {
+                calendar.add(from);
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Practitioner is already booked at this time");
+            }
+            calendar.add(to);
+        }
+    }
+    
+    public void release(Long practitionerId, LocalDateTime start) {
+        Calendar calendar = calendars.get(practitionerId);
+        if (calendar != null) {
+            synchronized (calendar) {
+                calendar.remove(slotStart(start));
+            }
+        }
+    }
+    
+    /**
+     * Free slots between {@code from} and {@code to} (inclusive days), within working hours and not in the past.
+     */
+    public List<AvailabilitySlot> findFreeSlots(Long practitionerId, LocalDate from, LocalDate to) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from and to are required and to must not be before from");
+        }
+        if (Duration.between(from.atStartOfDay(), to.atStartOfDay()).toDays() >= MAX_SEARCH_DAYS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + MAX_SEARCH_DAYS + " days per search");
+        }
+        Duration length = length();
+        LocalDateTime now = LocalDateTime.now();
+        List<AvailabilitySlot> free = new ArrayList<>();
+        Calendar calendar = calendar(practitionerId);
+        synchronized (calendar) {
+            for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+                LocalDateTime closing = day.atTime(dayEnd);
+                for (LocalDateTime start = day.atTime(dayStart); !start.plus(length).isAfter(closing); start = start.plus(length)) {
+                    if (!start.isBefore(now) && !calendar.overlaps(start, length)) {
+                        free.add(new AvailabilitySlot(start, start.plus(length)));
+                    }
+                }
+            }
+        }
+        return free;
+    }
+    
+    /**
+     * The start time a slot is kept under: {@code time} truncated to the minute.
+     */
+    public static LocalDateTime slotStart(LocalDateTime time) {
+        return time.truncatedTo(ChronoUnit.MINUTES);
+    }
+    
+    /**
+     * Drops calendars nobody has used for the idle period; they are loaded again on next use.
+     */
+    @Scheduled(fixedDelayString = "${availability.evict-interval-ms:600000}")
+    public void evictIdleCalendars() {
+        long cutoff = System.currentTimeMillis() - Duration.ofMinutes(calendarIdleMinutes).toMillis();
+        calendars.forEach((practitionerId, calendar) -> {
+            synchronized (calendar) {
+                if (calendar.lastUsed < cutoff) {
+                    calendar.evicted = true;
+                    calendars.remove(practitionerId, calendar);
+                }
+            }
+        });
+    }
+    
+    private Calendar calendar(Long practitionerId) {
+        while (true) {
+            Calendar calendar = calendars.get(practitionerId);
+            if (calendar == null) {
+                // Unknown ids get no calendar, so callers cannot grow the map with made-up ids
+                if (!practitionerRepository.existsById(practitionerId)) {
+                    throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Practitioner not found");
+                }
+                calendar = calendars.computeIfAbsent(practitionerId, id -> new Calendar());
+            }
+            synchronized (calendar) {
+                if (calendar.evicted) {
+                    // Evicted between the lookup and the lock; use the replacement
+                    continue;
+                }
+                calendar.lastUsed = System.currentTimeMillis();
+                if (!calendar.loaded) {
+                    // Sessions that started less than one length ago still block the slot they are in
+                    for (LocalDateTime start : sessionRepository.findActiveStarts(practitionerId, LocalDateTime.now().minus(length()), CANCELLED)) {
+                        calendar.add(slotStart(start));
+                    }
+                    calendar.loaded = true;
+                } else {
+                    calendar.prune(LocalDateTime.now().minus(length()));
+                }
+            }
+            return calendar;
+        }
+    }
+    
+    private Duration length() {
+        return Duration.ofMinutes(sessionMinutes);
+    }
+    
+    /**
+     * Start times of active sessions, with a count for legacy rows that share a start. Guarded by its own monitor.
+     */
+    private static class Calendar {
+        final TreeMap<LocalDateTime, Integer> starts = new TreeMap<>();
+        boolean loaded;
+        boolean evicted;
+        long lastUsed;
+        
+        boolean overlaps(LocalDateTime start, Duration length) {
+            return !starts.subMap(start.minus(length), false, start.plus(length), false).isEmpty();
+        }
+        
+        void add(LocalDateTime start) {
+            starts.merge(start, 1, Integer::sum);
+        }
+        
+        void remove(LocalDateTime start) {
+            starts.computeIfPresent(start, (key, count) -> count > 1 ? count - 1 : null);
+        }
+        
+        void prune(LocalDateTime before) {
+            starts.headMap(before, false).clear();
+        }
+    }
+}
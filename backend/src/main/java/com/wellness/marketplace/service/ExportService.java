@@ -0,0 +1,164 @@
+package com.wellness.marketplace.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wellness.marketplace.model.Order;
+import com.wellness.marketplace.model.Review;
+import com.wellness.marketplace.model.TherapySession;
+import com.wellness.marketplace.repository.OrderRepository;
+import com.wellness.marketplace.repository.ReviewRepository;
+import com.wellness.marketplace.repository.TherapySessionRepository;
+import com.wellness.marketplace.util.DelimitedRecordReader;
+import com.wellness.marketplace.util.DelimitedRecordWriter;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Writes full extracts of orders, sessions and reviews without loading them into memory.
+ * <p>
+ * Rows come from a forward-only cursor ({@code fetch size} rows per round trip, which MySQL honours with
+ * {@code useCursorFetch=true}), are loaded read-only and detached once written, and output is flushed every
+ * {@code export.flush-rows} rows. Heap use therefore stays flat however many rows are exported. The export
+ * holds one connection and a read-only transaction until the client has received the last row.
+ */
+@Service
+public class ExportService {
+    
+    private static final Logger log = LoggerFactory.getLogger(ExportService.class);
+    
+    private static final LocalDateTime ALL_TIME_FROM = LocalDateTime.of(1000, 1, 1, 0, 0);
+    private static final LocalDateTime ALL_TIME_TO = LocalDateTime.of(9999, 12, 31, 0, 0);
+    
+    private static final List<Column<Order>> ORDER_COLUMNS = List.of(
+            new Column<>("id", Order::getId),
+            new Column<>("userId", Order::getUserId),
+            new Column<>("productId", Order::getProductId),
+            new Column<>("checkoutId", Order::getCheckoutId),
+            new Column<>("quantity", Order::getQuantity),
+            new Column<>("totalAmount", Order::getTotalAmount),
+            new Column<>("orderDate", Order::getOrderDate),
+            new Column<>("status", Order::getStatus));
+    
+    private static final List<Column<TherapySession>> SESSION_COLUMNS = List.of(
+            new Column<>("id", TherapySession::getId),
+            new Column<>("practitionerId", TherapySession::getPractitionerId),
+            new Column<>("userId", TherapySession::getUserId),
+            new Column<>("date", TherapySession::getDate),
+            new Column<>("status", TherapySession::getStatus),
+            new Column<>("notes", TherapySession::getNotes));
+    
+    private static final List<Column<Review>> REVIEW_COLUMNS = List.of(
+            new Column<>("id", Review::getId),
+            new Column<>("userId", Review::getUserId),
+            new Column<>("practitionerId", Review::getPractitionerId),
+            new Column<>("rating", Review::getRating),
+            new Column<>("comment", Review::getComment),
+            new Column<>("createdAt", Review::getCreatedAt));
+    
+    @Autowired
+    private OrderRepository orderRepository;
+    
+    @Autowired
+    private TherapySessionRepository sessionRepository;
+    
+    @Autowired
+    private ReviewRepository reviewRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Value("${export.flush-rows:1000}")
+    private int flushRows;
+    
+    private TransactionTemplate readOnlyTransaction;
+    
+    @PostConstruct
+    void init() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+    
+    /**
+     * Orders placed on {@code from}..{@code to} inclusive; either bound may be null for no limit.
+     */
+    public long exportOrders(LocalDate from, LocalDate to, DelimitedRecordReader.Format format, OutputStream output) throws IOException {
+        return export("orders", () -> orderRepository.streamByOrderDate(start(from), end(to)), ORDER_COLUMNS, format, output);
+    }
+    
+    public long exportSessions(LocalDate from, LocalDate to, DelimitedRecordReader.Format format, OutputStream output) throws IOException {
+        return export("sessions", () -> sessionRepository.streamByDate(start(from), end(to)), SESSION_COLUMNS, format, output);
+    }
+    
+    public long exportReviews(LocalDate from, LocalDate to, DelimitedRecordReader.Format format, OutputStream output) throws IOException {
+        return export("reviews", () -> reviewRepository.streamByCreatedAt(start(from), end(to)), REVIEW_COLUMNS, format, output);
+    }
+    
+    private <T> long export(String name, Supplier<Stream<T>> query, List<Column<T>> columns,
+                            DelimitedRecordReader.Format format, OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        DelimitedRecordWriter records = new DelimitedRecordWriter(writer, format, objectMapper,
+                columns.stream().map(Column::name).toList());
+        Long rows;
+        try {
+            rows = readOnlyTransaction.execute(status -> {
+                long count = 0;
+                try (Stream<T> stream = query.get()) {
+                    Iterator<T> iterator = stream.iterator();
+                    while (iterator.hasNext()) {
+                        T entity = iterator.next();
+                        Map<String, Object> record = new LinkedHashMap<>();
+                        for (Column<T> column : columns) {
+                            record.put(column.name(), column.value().apply(entity));
+                        }
+                        records.write(record);
+                        entityManager.detach(entity);
+                        if (++count % flushRows == 0) {
+                            records.flush();
+                        }
+                    }
+                    records.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return count;
+            });
+        } catch (UncheckedIOException e) {
+            // Usually the client went away mid-download
+            throw e.getCause();
+        }
+        log.info("Exported {} {}", rows, name);
+        return rows == null ? 0 : rows;
+    }
+    
+    private static LocalDateTime start(LocalDate from) {
+        return from == null ? ALL_TIME_FROM : from.atStartOfDay();
+    }
+    
+    private static LocalDateTime end(LocalDate to) {
+        return to == null ? ALL_TIME_TO : to.plusDays(1).atStartOfDay();
+    }
+    
+    private record Column<T>(String name, Function<T, Object> value) {
+    }
+}
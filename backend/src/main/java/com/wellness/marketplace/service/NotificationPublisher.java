@@ -0,0 +1,105 @@
+package com.wellness.marketplace.service;
+
+import com.wellness.marketplace.model.Notification;
+import com.wellness.marketplace.util.AfterCommit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pushes new notifications to {@code /user/queue/notifications} of their recipient once they are committed.
+ * The first notification for a user opens a short window and everything created for that user within it goes
+ * out as one frame, so a batch of reminders or status changes is a single message per user.
+ */
+@Service
+public class NotificationPublisher {
+    
+    private static final Logger log = LoggerFactory.getLogger(NotificationPublisher.class);
+    
+    public static final String DESTINATION = "/queue/notifications";
+    
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${notifications.push.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${notifications.push.coalesce-ms:200}")
+    private long coalesceMs;
+    
+    private final Map<Long, List<Notification>> buffered = new ConcurrentHashMap<>();
+    private ScheduledExecutorService flusher;
+    private Counter frames;
+    
+    @PostConstruct
+    void init() {
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notification-push");
+            thread.setDaemon(true);
+            return thread;
+        });
+        frames = Counter.builder("notifications.push.frames").register(meterRegistry);
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        flusher.shutdown();
+    }
+    
+    /**
+     * Queues the notifications for delivery once they are committed.
+     */
+    public void published(Collection<Notification> notifications) {
+        if (!enabled || notifications.isEmpty()) {
+            return;
+        }
+        List<Notification> copy = List.copyOf(notifications);
+        AfterCommit.run(() -> buffer(copy));
+    }
+    
+    private void buffer(List<Notification> notifications) {
+        for (Notification notification : notifications) {
+            buffered.compute(notification.getUserId(), (userId, pending) -> {
+                if (pending == null) {
+                    pending = new ArrayList<>();
+                    flusher.schedule(() -> flush(userId), coalesceMs, TimeUnit.MILLISECONDS);
+                }
+                pending.add(notification);
+                return pending;
+            });
+        }
+    }
+    
+    private void flush(Long userId) {
+        List<Notification> pending = buffered.remove(userId);
+        if (pending == null) {
+            return;
+        }
+        try {
+            messagingTemplate.convertAndSendToUser(String.valueOf(userId), DESTINATION, pending);
+            frames.increment();
+        } catch (MessagingException e) {
+            // Clients fetch what they missed over REST when they reconnect
+            log.warn("Could not push {} notifications to user {}", pending.size(), userId, e);
+        }
+    }
+}
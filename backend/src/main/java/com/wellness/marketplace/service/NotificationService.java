@@ -1,40 +1,141 @@
 package com.wellness.marketplace.service;
 
+import com.wellness.marketplace.dto.CursorPage;
 import com.wellness.marketplace.model.Notification;
+import com.wellness.marketplace.model.NotificationStatus;
+import com.wellness.marketplace.repository.KeysetPageRequest;
+import com.wellness.marketplace.repository.KeysetPaginator;
 import com.wellness.marketplace.repository.NotificationRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 @Service
 public class NotificationService {
     
+    public static final Set<String> SORTABLE = Set.of("id", "createdAt");
+    
+    private static final int MAX_MARK_READ = 500;
+    
     @Autowired
     private NotificationRepository notificationRepository;
     
+    @Autowired
+    private KeysetPaginator keysetPaginator;
+    
+    @Autowired
+    private NotificationPublisher publisher;
+    
+    @Autowired
+    private UnreadNotificationCounter unreadCounter;
+    
     public Notification createNotification(Long userId, String type, String message) {
         Notification notification = new Notification();
         notification.setUserId(userId);
         notification.setType(type);
         notification.setMessage(message);
-        notification.setStatus("unread");
+        notification.setStatus(NotificationStatus.UNREAD);
         notification.setCreatedAt(LocalDateTime.now());
-        return notificationRepository.save(notification);
+        Notification saved = notificationRepository.save(notification);
+        unreadCounter.added(List.of(saved));
+        publisher.published(List.of(saved));
+        return saved;
+    }
+    
+    @Transactional
+    public List<Notification> createNotifications(Collection<Long> userIds, String type, String message) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Notification> notifications = new ArrayList<>(userIds.size());
+        for (Long userId : userIds) {
+            notifications.add(new Notification(null, userId, type, message, NotificationStatus.UNREAD, now));
+        }
+        List<Notification> saved = notificationRepository.saveAll(notifications);
+        unreadCounter.added(saved);
+        publisher.published(saved);
+        return saved;
+    }
+    
+    /**
+     * Saves prepared notifications as unread, in JDBC batches.
+     */
+    @Transactional
+    public List<Notification> createNotifications(List<Notification> notifications) {
+        LocalDateTime now = LocalDateTime.now();
+        for (Notification notification : notifications) {
+            notification.setStatus(NotificationStatus.UNREAD);
+            notification.setCreatedAt(now);
+        }
+        List<Notification> saved = notificationRepository.saveAll(notifications);
+        unreadCounter.added(saved);
+        publisher.published(saved);
+        return saved;
     }
     
-    public List<Notification> getUserNotifications(Long userId) {
-        return notificationRepository.findByUserId(userId);
+    public CursorPage<Notification> getUserNotifications(Long userId, KeysetPageRequest page, String status) {
+        NotificationStatus wanted = null;
+        if (status != null) {
+            wanted = NotificationStatus.fromValue(status);
+            if (wanted == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "status must be read or unread");
+            }
+        }
+        NotificationStatus filterStatus = wanted;
+        Specification<Notification> filter = (root, query, cb) -> cb.and(
+                cb.equal(root.get("userId"), userId),
+                filterStatus != null ? cb.equal(root.get("status"), filterStatus) : cb.conjunction()
+        );
+        return keysetPaginator.find(Notification.class, page, filter);
     }
     
     public List<Notification> getUnreadNotifications(Long userId) {
-        return notificationRepository.findByUserIdAndStatus(userId, "unread");
+        return notificationRepository.findByUserIdAndStatus(userId, NotificationStatus.UNREAD);
+    }
+    
+    public int getUnreadCount(Long userId) {
+        return unreadCounter.getUnreadCount(userId);
     }
     
+    @Transactional
     public Notification markAsRead(Long id) {
+        int changed = notificationRepository.updateStatus(id, NotificationStatus.UNREAD, NotificationStatus.READ);
         Notification notification = notificationRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Notification not found"));
-        notification.setStatus("read");
-        return notificationRepository.save(notification);
+        unreadCounter.read(notification.getUserId(), changed);
+        return notification;
+    }
+    
+    /**
+     * Marks the given notifications of one user read with a single UPDATE; ids of other users' notifications
+     * and notifications already read are ignored. Returns the number marked.
+     */
+    @Transactional
+    public int markAsRead(Long userId, Collection<Long> ids) {
+        Set<Long> distinct = new LinkedHashSet<>(ids != null ? ids : List.of());
+        distinct.remove(null);
+        if (distinct.size() > MAX_MARK_READ) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + MAX_MARK_READ + " notifications per request");
+        }
+        if (distinct.isEmpty()) {
+            return 0;
+        }
+        int changed = notificationRepository.updateStatusByUserIdAndIdIn(userId, distinct, NotificationStatus.UNREAD, NotificationStatus.READ);
+        unreadCounter.read(userId, changed);
+        return changed;
+    }
+    
+    @Transactional
+    public int markAllAsRead(Long userId) {
+        int changed = notificationRepository.updateStatusByUserId(userId, NotificationStatus.UNREAD, NotificationStatus.READ);
+        unreadCounter.read(userId, changed);
+        return changed;
     }
 }
@@ -1,49 +1,178 @@
 package com.wellness.marketplace.service;
 
+import com.wellness.marketplace.cache.ProductCatalogCache;
+import com.wellness.marketplace.dto.CheckoutRequest;
+import com.wellness.marketplace.dto.CheckoutResponse;
+import com.wellness.marketplace.dto.CursorPage;
+import com.wellness.marketplace.model.Checkout;
 import com.wellness.marketplace.model.Order;
 import com.wellness.marketplace.model.Product;
+import com.wellness.marketplace.repository.CheckoutRepository;
+import com.wellness.marketplace.repository.KeysetPageRequest;
+import com.wellness.marketplace.repository.KeysetPaginator;
 import com.wellness.marketplace.repository.OrderRepository;
 import com.wellness.marketplace.repository.ProductRepository;
+import com.wellness.marketplace.search.ProductSearchIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.*;
 
 @Service
 public class OrderService {
     
+    public static final Set<String> SORTABLE = Set.of("id", "orderDate", "totalAmount");
+    private static final String CANCELLED = "cancelled";
+    
     @Autowired
     private OrderRepository orderRepository;
     
+    @Autowired
+    private CheckoutRepository checkoutRepository;
+    
+    @Autowired
+    private KeysetPaginator keysetPaginator;
+    
     @Autowired
     private ProductRepository productRepository;
     
+    @Autowired
+    private StockReservationEngine stockReservationEngine;
+    
+    @Autowired
+    private ProductCatalogCache catalogCache;
+    
+    @Autowired
+    private ProductSearchIndex searchIndex;
+    
+    @Autowired
+    private SalesRollupService salesRollupService;
+    
+    @Transactional
     public Order createOrder(Order order) {
+        if (order.getQuantity() == null || order.getQuantity() <= 0) {
+            throw new RuntimeException("Quantity must be positive");
+        }
         Product product = productRepository.findById(order.getProductId())
                 .orElseThrow(() -> new RuntimeException("Product not found"));
+        ProductCatalogCache.Snapshot previous = ProductCatalogCache.snapshot(product);
         
-        if (product.getStock() < order.getQuantity()) {
-            throw new RuntimeException("Insufficient stock");
-        }
+        boolean pending = stockReservationEngine.reserve(product.getId(), order.getQuantity());
         
         order.setOrderDate(LocalDateTime.now());
         order.setStatus("pending");
         order.setTotalAmount(product.getPrice() * order.getQuantity());
+        order.setStockPending(pending ? Boolean.TRUE : null);
+        Order saved = orderRepository.save(order);
+        salesRollupService.record(saved, product.getCategory(), 1);
+        
+        if (!pending) {
+            publishStockChanges(Map.of(product.getId(), previous));
+        }
+        return saved;
+    }
+    
+    /**
+     * Prices and reserves every line of a cart in one transaction: either all lines get their stock
+     * or none do. Products are loaded in one query and reserved in id order, so concurrent checkouts
+     * touch product rows in the same order and cannot deadlock each other.
+     */
+    @Transactional
+    public CheckoutResponse checkout(CheckoutRequest request) {
+        if (request.getUserId() == null) {
+            throw new RuntimeException("userId is required");
+        }
+        if (request.getItems() == null || request.getItems().isEmpty()) {
+            throw new RuntimeException("Cart is empty");
+        }
+        TreeMap<Long, Integer> quantities = new TreeMap<>();
+        for (CheckoutRequest.Item item : request.getItems()) {
+            if (item.getProductId() == null || item.getQuantity() == null || item.getQuantity() <= 0) {
+                throw new RuntimeException("Each item needs a productId and a positive quantity");
+            }
+            quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
+        
+        Map<Long, Product> products = new HashMap<>();
+        for (Product product : productRepository.findAllById(quantities.keySet())) {
+            products.put(product.getId(), product);
+        }
         
-        product.setStock(product.getStock() - order.getQuantity());
-        productRepository.save(product);
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, ProductCatalogCache.Snapshot> written = new HashMap<>();
+        List<Order> lines = new ArrayList<>(quantities.size());
+        double total = 0;
+        for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+            Product product = products.get(line.getKey());
+            if (product == null) {
+                throw new RuntimeException("Product not found: " + line.getKey());
+            }
+            ProductCatalogCache.Snapshot previous = ProductCatalogCache.snapshot(product);
+            boolean pending;
+            try {
+                pending = stockReservationEngine.reserve(product.getId(), line.getValue());
+            } catch (RuntimeException e) {
+                throw new RuntimeException(e.getMessage() + ": " + product.getName(), e);
+            }
+            if (!pending) {
+                written.put(product.getId(), previous);
+            }
+            
+            Order order = new Order();
+            order.setUserId(request.getUserId());
+            order.setProductId(product.getId());
+            order.setQuantity(line.getValue());
+            order.setTotalAmount(product.getPrice() * line.getValue());
+            order.setOrderDate(now);
+            order.setStatus("pending");
+            order.setStockPending(pending ? Boolean.TRUE : null);
+            lines.add(order);
+            total += order.getTotalAmount();
+        }
         
-        return orderRepository.save(order);
+        Checkout checkout = checkoutRepository.save(new Checkout(null, request.getUserId(), total, now, "pending"));
+        for (Order order : lines) {
+            order.setCheckoutId(checkout.getId());
+        }
+        List<Order> saved = orderRepository.saveAll(lines);
+        for (Order order : saved) {
+            salesRollupService.record(order, products.get(order.getProductId()).getCategory(), 1);
+        }
+        publishStockChanges(written);
+        return new CheckoutResponse(checkout, saved);
     }
     
-    public List<Order> getUserOrders(Long userId) {
-        return orderRepository.findByUserId(userId);
+    public CursorPage<Order> getUserOrders(Long userId, KeysetPageRequest page, String status) {
+        Specification<Order> filter = (root, query, cb) -> cb.and(
+                cb.equal(root.get("userId"), userId),
+                status != null ? cb.equal(root.get("status"), status) : cb.conjunction()
+        );
+        return keysetPaginator.find(Order.class, page, filter);
     }
     
+    @Transactional
     public Order updateOrderStatus(Long id, String status) {
         Order order = orderRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
+        boolean wasCancelled = CANCELLED.equals(order.getStatus());
         order.setStatus(status);
-        return orderRepository.save(order);
+        Order saved = orderRepository.save(order);
+        
+        if (wasCancelled != CANCELLED.equals(status)) {
+            String category = productRepository.findById(order.getProductId())
+                    .map(Product::getCategory)
+                    .orElse("unknown");
+            salesRollupService.record(saved, category, wasCancelled ? 1 : -1);
+        }
+        return saved;
+    }
+    
+    private void publishStockChanges(Map<Long, ProductCatalogCache.Snapshot> previous) {
+        for (Product current : productRepository.findAllById(previous.keySet())) {
+            catalogCache.productChanged(previous.get(current.getId()), current);
+            searchIndex.productChanged(current);
+        }
     }
 }
@@ -0,0 +1,248 @@
+package com.wellness.marketplace.service;
+
+import com.wellness.marketplace.dto.LeaderboardEntry;
+import com.wellness.marketplace.util.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-specialization leaderboards of verified practitioners, held in memory as bounded top-K sets.
+ * <p>
+ * The rating board ranks by a Bayesian average that pulls practitioners with few reviews towards the
+ * global mean; the trending board ranks by bookings made within the trending window. Reviews, bookings
+ * and profile changes re-read the one practitioner involved (an indexed lookup) and re-offer it to its
+ * boards. A practitioner that drops out of a full board cannot be replaced by one that was never on it,
+ * and bookings age out of the window without an event, so the boards are rebuilt from the rating
+ * aggregates and a grouped session count on a fixed delay. Reads only copy a published snapshot.
+ */
+@Service
+public class PractitionerLeaderboardService {
+    
+    private static final Logger log = LoggerFactory.getLogger(PractitionerLeaderboardService.class);
+    
+    public static final String BY_RATING = "rating";
+    public static final String BY_TRENDING = "trending";
+    
+    private static final String SELECT =
+            "SELECT p.id, p.user_id, u.name, p.specialization, COALESCE(s.rating_sum, 0) AS rating_sum, " +
+            "COALESCE(s.review_count, 0) AS review_count, ";
+    
+    private static final String ONE =
+            SELECT + "(SELECT COUNT(*) FROM therapy_sessions t WHERE t.practitioner_id = p.id " +
+            "AND t.booked_at >= ? AND t.status <> 'cancelled') AS bookings " +
+            "FROM practitioner_profiles p JOIN users u ON u.id = p.user_id " +
+            "LEFT JOIN practitioner_rating_stats s ON s.practitioner_id = p.id " +
+            "WHERE p.id = ? AND p.verified = TRUE";
+    
+    private static final String ALL =
+            SELECT + "COALESCE(b.bookings, 0) AS bookings " +
+            "FROM practitioner_profiles p JOIN users u ON u.id = p.user_id " +
+            "LEFT JOIN practitioner_rating_stats s ON s.practitioner_id = p.id " +
+            "LEFT JOIN (SELECT practitioner_id, COUNT(*) AS bookings FROM therapy_sessions " +
+            "WHERE booked_at >= ? AND status <> 'cancelled' GROUP BY practitioner_id) b ON b.practitioner_id = p.id " +
+            "WHERE p.verified = TRUE";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Value("${leaderboard.size:100}")
+    private int capacity;
+    
+    @Value("${leaderboard.prior-weight:10}")
+    private double priorWeight;
+    
+    @Value("${leaderboard.trending-window-days:7}")
+    private int trendingWindowDays;
+    
+    private volatile Map<String, Boards> boards = new ConcurrentHashMap<>();
+    private volatile double priorMean;
+    
+    private final Object resyncLock = new Object();
+    private Set<Long> changedDuringResync;
+    
+    public List<LeaderboardEntry> getLeaderboard(String specialization, String by, Integer limit) {
+        if (!BY_RATING.equals(by) && !BY_TRENDING.equals(by)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "by must be rating or trending");
+        }
+        int size = limit != null ? limit : 10;
+        if (size < 1 || size > capacity) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + capacity);
+        }
+        Boards current = boards.get(specialization);
+        if (current == null) {
+            return List.of();
+        }
+        List<Candidate> ranked = current.board(by).snapshot;
+        List<LeaderboardEntry> entries = new ArrayList<>(Math.min(size, ranked.size()));
+        for (int i = 0; i < ranked.size() && i < size; i++) {
+            entries.add(ranked.get(i).toEntry(i + 1));
+        }
+        return entries;
+    }
+    
+    /**
+     * Re-reads one practitioner and moves it on its boards once the change is committed.
+     */
+    public void practitionerChanged(Long practitionerId) {
+        AfterCommit.run(() -> refresh(practitionerId));
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${leaderboard.resync-interval-ms:300000}",
+            fixedDelayString = "${leaderboard.resync-interval-ms:300000}")
+    public synchronized void resync() {
+        synchronized (resyncLock) {
+            changedDuringResync = new HashSet<>();
+        }
+        
+        Double mean = jdbcTemplate.queryForObject(
+                "SELECT SUM(rating_sum) * 1.0 / SUM(review_count) FROM practitioner_rating_stats", Double.class);
+        double prior = mean != null ? mean : 0.0;
+        Map<String, Boards> fresh = new ConcurrentHashMap<>();
+        // Only the top K per board are kept while the rows stream past
+        jdbcTemplate.query(ALL, rs -> {
+            Candidate candidate = candidate(rs, prior);
+            fresh.computeIfAbsent(candidate.specialization(), key -> new Boards(capacity)).offer(candidate);
+        }, windowStart());
+        
+        Set<Long> replay;
+        synchronized (resyncLock) {
+            priorMean = prior;
+            boards = fresh;
+            replay = changedDuringResync;
+            changedDuringResync = null;
+        }
+        replay.forEach(this::refresh);
+        log.debug("Rebuilt leaderboards for {} specializations", fresh.size());
+    }
+    
+    private void refresh(Long practitionerId) {
+        synchronized (resyncLock) {
+            if (changedDuringResync != null) {
+                changedDuringResync.add(practitionerId);
+            }
+        }
+        double prior = priorMean;
+        List<Candidate> found = jdbcTemplate.query(ONE, (rs, rowNum) -> candidate(rs, prior), windowStart(), practitionerId);
+        Candidate candidate = found.isEmpty() ? null : found.get(0);
+        Map<String, Boards> current = boards;
+        current.forEach((specialization, specializationBoards) -> {
+            if (candidate == null || !specialization.equals(candidate.specialization())) {
+                specializationBoards.remove(practitionerId);
+            }
+        });
+        if (candidate != null) {
+            current.computeIfAbsent(candidate.specialization(), key -> new Boards(capacity)).offer(candidate);
+        }
+    }
+    
+    private Candidate candidate(ResultSet rs, double prior) throws SQLException {
+        long ratingSum = rs.getLong("rating_sum");
+        long reviewCount = rs.getLong("review_count");
+        return new Candidate(rs.getLong("id"), rs.getLong("user_id"), rs.getString("name"), rs.getString("specialization"),
+                reviewCount > 0 ? (double) ratingSum / reviewCount : 0.0, reviewCount, rs.getLong("bookings"),
+                (priorWeight * prior + ratingSum) / (priorWeight + reviewCount));
+    }
+    
+    private LocalDateTime windowStart() {
+        return LocalDateTime.now().minusDays(trendingWindowDays);
+    }
+    
+    private record Candidate(Long id, Long userId, String name, String specialization, double rating,
+                             long reviewCount, long recentBookings, double score) {
+        
+        static final Comparator<Candidate> BY_SCORE = Comparator.comparingDouble(Candidate::score).reversed()
+                .thenComparing(Comparator.comparingLong(Candidate::reviewCount).reversed())
+                .thenComparing(Candidate::id);
+        
+        static final Comparator<Candidate> BY_BOOKINGS = Comparator.comparingLong(Candidate::recentBookings).reversed()
+                .thenComparing(BY_SCORE);
+        
+        LeaderboardEntry toEntry(int rank) {
+            return new LeaderboardEntry(rank, id, userId, name, specialization, rating, reviewCount, recentBookings, score);
+        }
+    }
+    
+    private static final class Boards {
+        final TopK rating;
+        final TopK trending;
+        
+        Boards(int capacity) {
+            rating = new TopK(capacity, Candidate.BY_SCORE);
+            trending = new TopK(capacity, Candidate.BY_BOOKINGS);
+        }
+        
+        TopK board(String by) {
+            return BY_TRENDING.equals(by) ? trending : rating;
+        }
+        
+        void offer(Candidate candidate) {
+            rating.offer(candidate);
+            if (candidate.recentBookings() > 0) {
+                trending.offer(candidate);
+            } else {
+                trending.remove(candidate.id());
+            }
+        }
+        
+        void remove(Long id) {
+            rating.remove(id);
+            trending.remove(id);
+        }
+    }
+    
+    /**
+     * At most {@code capacity} candidates in rank order. Writers rebuild an immutable snapshot that
+     * readers use without locking; at K entries the copy is cheaper than contended reads.
+     */
+    private static final class TopK {
+        private final int capacity;
+        private final TreeSet<Candidate> ranked;
+        private final Map<Long, Candidate> members = new HashMap<>();
+        volatile List<Candidate> snapshot = List.of();
+        
+        TopK(int capacity, Comparator<Candidate> order) {
+            this.capacity = capacity;
+            this.ranked = new TreeSet<>(order);
+        }
+        
+        synchronized void offer(Candidate candidate) {
+            Candidate previous = members.remove(candidate.id());
+            if (previous != null) {
+                ranked.remove(previous);
+            }
+            if (ranked.size() < capacity || ranked.comparator().compare(candidate, ranked.last()) < 0) {
+                ranked.add(candidate);
+                members.put(candidate.id(), candidate);
+                if (ranked.size() > capacity) {
+                    members.remove(ranked.pollLast().id());
+                }
+            } else if (previous == null) {
+                return;
+            }
+            snapshot = List.copyOf(ranked);
+        }
+        
+        synchronized void remove(Long id) {
+            Candidate previous = members.remove(id);
+            if (previous != null) {
+                ranked.remove(previous);
+                snapshot = List.copyOf(ranked);
+            }
+        }
+    }
+}
@@ -1,27 +1,83 @@
 package com.wellness.marketplace.service;
 
+import com.wellness.marketplace.cache.PractitionerDirectoryCache;
+import com.wellness.marketplace.dto.CursorPage;
+import com.wellness.marketplace.dto.PractitionerBulkVerifyRequest;
+import com.wellness.marketplace.dto.PractitionerDecisionResult;
+import com.wellness.marketplace.dto.PractitionerDirectoryEntry;
 import com.wellness.marketplace.dto.UnverifiedPractitionerDTO;
 import com.wellness.marketplace.dto.PractitionerVerifyRequest;
 import com.wellness.marketplace.model.PractitionerProfile;
+import com.wellness.marketplace.model.Review;
 import com.wellness.marketplace.model.User;
+import com.wellness.marketplace.repository.KeysetPageRequest;
+import com.wellness.marketplace.repository.KeysetPaginator;
 import com.wellness.marketplace.repository.PractitionerProfileRepository;
 import com.wellness.marketplace.repository.UserRepository;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.hibernate.query.criteria.JpaEntityJoin;
+import org.hibernate.query.criteria.JpaRoot;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import java.util.List;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class PractitionerService {
     
+    public static final Set<String> SORTABLE = Set.of("id", "specialization");
+    public static final Set<String> QUEUE_SORTABLE = Set.of("id", "name");
+    public static final int MAX_BULK_DECISIONS = 500;
+    
+    // Only the columns the queue shows, not the password hash and the rest of the user row
+    private static final KeysetPaginator.Projection<User, UnverifiedPractitionerDTO> QUEUE_ENTRY = (root, query, cb) ->
+            cb.construct(UnverifiedPractitionerDTO.class, root.get("id"), root.get("name"), root.get("email"), root.get("bio"));
+    
+    // One query per page: profile joined to its user, with the review count from the reviews index
+    private static final KeysetPaginator.Projection<PractitionerProfile, PractitionerDirectoryEntry> DIRECTORY_ENTRY = (root, query, cb) -> {
+        JpaEntityJoin<User> user = ((JpaRoot<PractitionerProfile>) root).join(User.class);
+        user.on(cb.equal(user.get("id"), root.get("userId")));
+        Subquery<Long> reviewCount = query.subquery(Long.class);
+        Root<Review> review = reviewCount.from(Review.class);
+        reviewCount.select(cb.count(review)).where(cb.equal(review.get("practitionerId"), root.get("id")));
+        return cb.construct(PractitionerDirectoryEntry.class,
+                root.get("id"),
+                root.get("userId"),
+                user.get("name"),
+                user.get("bio"),
+                root.get("specialization"),
+                root.get("verified"),
+                root.get("rating"),
+                reviewCount);
+    };
+    
     @Autowired
     private PractitionerProfileRepository practitionerRepository;
     
+    @Autowired
+    private KeysetPaginator keysetPaginator;
+    
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private PractitionerDirectoryCache directoryCache;
+    
+    @Autowired
+    private PractitionerLeaderboardService leaderboardService;
+    
     public PractitionerProfile createProfile(PractitionerProfile profile) {
-        return practitionerRepository.save(profile);
+        PractitionerProfile saved = practitionerRepository.save(profile);
+        directoryCache.directoryChanged();
+        leaderboardService.practitionerChanged(saved.getId());
+        return saved;
     }
     
     public PractitionerProfile getProfileByUserId(Long userId) {
@@ -29,52 +85,151 @@ public class PractitionerService {
                 .orElse(null);
     }
     
-    public List<PractitionerProfile> getAllPractitioners() {
-        return practitionerRepository.findAll();
-    }
-    
-    public List<PractitionerProfile> getVerifiedPractitioners() {
-        return practitionerRepository.findByVerified(true);
-    }
-    
-    public List<PractitionerProfile> getPractitionersBySpecialization(String specialization) {
-        return practitionerRepository.findBySpecialization(specialization);
+    /**
+     * Directory cards with the practitioner's name and bio joined in, so clients need no per-card lookups.
+     */
+    public CursorPage<PractitionerDirectoryEntry> getDirectory(KeysetPageRequest page, String specialization, Boolean verified) {
+        String key = page.getCursor() + "|" + page.getSize() + "|" + page.getSortAttribute() + "|" + page.getDirection()
+                + "|" + specialization + "|" + verified;
+        Specification<PractitionerProfile> filter = (root, query, cb) -> cb.and(
+                specialization != null ? cb.equal(root.get("specialization"), specialization) : cb.conjunction(),
+                verified != null ? cb.equal(root.get("verified"), verified) : cb.conjunction()
+        );
+        return directoryCache.getPage(key, () -> keysetPaginator.find(
+                PractitionerProfile.class, PractitionerDirectoryEntry.class, page, filter, DIRECTORY_ENTRY));
     }
     
     public PractitionerProfile verifyPractitioner(Long id) {
         PractitionerProfile profile = practitionerRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Practitioner not found"));
         profile.setVerified(true);
-        return practitionerRepository.save(profile);
+        PractitionerProfile saved = practitionerRepository.save(profile);
+        directoryCache.directoryChanged();
+        leaderboardService.practitionerChanged(saved.getId());
+        return saved;
     }
     
     public PractitionerProfile updateRating(Long id, Double rating) {
         PractitionerProfile profile = practitionerRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Practitioner not found"));
         profile.setRating(rating);
-        return practitionerRepository.save(profile);
+        PractitionerProfile saved = practitionerRepository.save(profile);
+        directoryCache.directoryChanged();
+        return saved;
+    }
+    
+    /**
+     * Practitioners still waiting for a decision: no profile yet and not rejected. Runs as one
+     * {@code NOT EXISTS} query over the users role index, one page at a time.
+     */
+    public CursorPage<UnverifiedPractitionerDTO> getUnverifiedPractitioners(KeysetPageRequest page) {
+        Specification<User> pending = (root, query, cb) -> {
+            Subquery<Long> profile = query.subquery(Long.class);
+            Root<PractitionerProfile> profileRoot = profile.from(PractitionerProfile.class);
+            profile.select(profileRoot.get("id")).where(cb.equal(profileRoot.get("userId"), root.get("id")));
+            return cb.and(
+                    cb.equal(root.get("role"), "practitioner"),
+                    cb.isNull(root.get("practitionerRejectedAt")),
+                    cb.not(cb.exists(profile))
+            );
+        };
+        return keysetPaginator.find(User.class, UnverifiedPractitionerDTO.class, page, pending, QUEUE_ENTRY);
     }
     
-    public List<UnverifiedPractitionerDTO> getUnverifiedPractitioners() {
-        // Get all users with practitioner role
-        List<User> allPractitioners = userRepository.findByRole("practitioner");
+    /**
+     * Approves and rejects queued practitioners in one transaction. The users and existing profiles are
+     * read with one query each and the writes go out as JDBC batches; decisions that fail validation are
+     * reported as skipped without affecting the rest.
+     */
+    @Transactional
+    public List<PractitionerDecisionResult> decidePractitioners(PractitionerBulkVerifyRequest request) {
+        List<PractitionerVerifyRequest> approvals = request.getApprove() != null ? request.getApprove() : List.of();
+        List<Long> rejections = request.getReject() != null ? request.getReject() : List.of();
+        if (approvals.size() + rejections.size() > MAX_BULK_DECISIONS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + MAX_BULK_DECISIONS + " decisions per request");
+        }
         
-        // Get all user IDs that already have profiles
-        List<Long> verifiedUserIds = practitionerRepository.findAll()
-                .stream()
-                .map(PractitionerProfile::getUserId)
-                .collect(Collectors.toList());
+        Set<Long> userIds = new HashSet<>(rejections);
+        approvals.forEach(approval -> userIds.add(approval.getUserId()));
+        userIds.remove(null);
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        Set<Long> withProfile = new HashSet<>(practitionerRepository.findUserIdsWithProfile(userIds));
+        Set<Long> decided = new HashSet<>();
+        
+        List<PractitionerDecisionResult> results = new ArrayList<>();
+        List<PractitionerProfile> profiles = new ArrayList<>();
+        List<PractitionerDecisionResult> approved = new ArrayList<>();
+        for (PractitionerVerifyRequest approval : approvals) {
+            String error = checkDecision(approval.getUserId(), users, withProfile, decided);
+            if (error == null && (approval.getSpecialization() == null || approval.getSpecialization().isBlank())) {
+                error = "specialization is required";
+            }
+            if (error == null && approval.getRating() != null && (approval.getRating() < 0 || approval.getRating() > 5)) {
+                error = "rating must be between 0 and 5";
+            }
+            if (error != null) {
+                results.add(new PractitionerDecisionResult(approval.getUserId(), "skipped", null, error));
+                continue;
+            }
+            
+            users.get(approval.getUserId()).setPractitionerRejectedAt(null);
+            PractitionerProfile profile = new PractitionerProfile();
+            profile.setUserId(approval.getUserId());
+            profile.setSpecialization(approval.getSpecialization());
+            profile.setRating(approval.getRating() != null ? approval.getRating() : 0.0);
+            profile.setVerified(true);
+            profiles.add(profile);
+            
+            PractitionerDecisionResult result = new PractitionerDecisionResult(approval.getUserId(), "approved", null, null);
+            approved.add(result);
+            results.add(result);
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        for (Long userId : rejections) {
+            String error = checkDecision(userId, users, withProfile, decided);
+            if (error != null) {
+                results.add(new PractitionerDecisionResult(userId, "skipped", null, error));
+                continue;
+            }
+            // Managed entity: the update is flushed with the others at commit
+            users.get(userId).setPractitionerRejectedAt(now);
+            results.add(new PractitionerDecisionResult(userId, "rejected", null, null));
+        }
         
-        // Filter to get only those without profiles
-        return allPractitioners.stream()
-                .filter(user -> !verifiedUserIds.contains(user.getId()))
-                .map(user -> new UnverifiedPractitionerDTO(
-                        user.getId(),
-                        user.getName(),
-                        user.getEmail(),
-                        user.getBio()
-                ))
-                .collect(Collectors.toList());
+        practitionerRepository.saveAll(profiles);
+        if (!profiles.isEmpty()) {
+            directoryCache.directoryChanged();
+        }
+        for (int i = 0; i < profiles.size(); i++) {
+            approved.get(i).setProfileId(profiles.get(i).getId());
+            leaderboardService.practitionerChanged(profiles.get(i).getId());
+        }
+        return results;
+    }
+    
+    private static String checkDecision(Long userId, Map<Long, User> users, Set<Long> withProfile, Set<Long> decided) {
+        if (userId == null) {
+            return "userId is required";
+        }
+        if (!decided.add(userId)) {
+            return "More than one decision for this user";
+        }
+        User user = users.get(userId);
+        if (user == null) {
+            return "User not found";
+        }
+        if (!"practitioner".equals(user.getRole())) {
+            return "User is not a practitioner";
+        }
+        if (withProfile.contains(userId)) {
+            return "Practitioner profile already exists";
+        }
+        return null;
     }
     
     public PractitionerProfile adminVerifyPractitioner(PractitionerVerifyRequest request) {
@@ -98,6 +253,9 @@ public class PractitionerService {
         profile.setRating(request.getRating() != null ? request.getRating() : 0.0);
         profile.setVerified(true); // Verified by admin during creation
         
-        return practitionerRepository.save(profile);
+        PractitionerProfile saved = practitionerRepository.save(profile);
+        directoryCache.directoryChanged();
+        leaderboardService.practitionerChanged(saved.getId());
+        return saved;
     }
 }
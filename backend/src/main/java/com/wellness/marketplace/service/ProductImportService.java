@@ -0,0 +1,216 @@
+package com.wellness.marketplace.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wellness.marketplace.cache.ProductCatalogCache;
+import com.wellness.marketplace.dto.ImportRowResult;
+import com.wellness.marketplace.dto.ImportSummary;
+import com.wellness.marketplace.model.Product;
+import com.wellness.marketplace.repository.ProductRepository;
+import com.wellness.marketplace.search.ProductSearchIndex;
+import com.wellness.marketplace.util.ChunkedImport;
+import com.wellness.marketplace.util.DelimitedRecordReader;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.*;
+
+@Service
+public class ProductImportService {
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private ProductCatalogCache catalogCache;
+    
+    @Autowired
+    private ProductSearchIndex searchIndex;
+    
+    @Autowired
+    private StockReservationEngine stockReservationEngine;
+    
+    @Value("${import.products.chunk-size:500}")
+    private int chunkSize;
+    
+    /**
+     * Streams product records keyed by {@code sku} from {@code input}, creating new products and updating
+     * existing ones, and writes one NDJSON result per row to {@code output} followed by a summary line.
+     * Only one chunk of rows is held in memory at a time; results are flushed after every chunk.
+     */
+    public ImportSummary importProducts(InputStream input, DelimitedRecordReader.Format format, OutputStream output) throws IOException {
+        return ChunkedImport.run(input, format, output, objectMapper, chunkSize, Row::of, Row::invalid, this::importChunk);
+    }
+    
+    private List<ImportRowResult> importChunk(List<Row> rows) {
+        Map<String, Row> candidates = new LinkedHashMap<>();
+        for (Row row : rows) {
+            if (row.error == null) {
+                row.error = row.parseError != null ? row.parseError : validateFields(row);
+            }
+            if (row.error == null) {
+                if (candidates.putIfAbsent(row.sku, row) != null) {
+                    row.status = "duplicate";
+                }
+            }
+        }
+        if (!candidates.isEmpty()) {
+            upsert(candidates);
+        }
+        
+        List<ImportRowResult> results = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            if (row.error != null) {
+                results.add(new ImportRowResult(row.line, row.sku, "invalid", null, row.error));
+            } else {
+                results.add(new ImportRowResult(row.line, row.sku, row.status, row.id, null));
+            }
+        }
+        return results;
+    }
+    
+    private void upsert(Map<String, Row> rows) {
+        List<Row> written = new ArrayList<>(rows.size());
+        List<Product> products = new ArrayList<>(rows.size());
+        Map<Long, Integer> hotStock = new HashMap<>();
+        try {
+            // Existing rows are loaded inside the transaction so updates go out through dirty checking;
+            // with pooled sequence ids and ordered updates the chunk is sent as JDBC batches
+            transactionTemplate.executeWithoutResult(status -> {
+                Map<String, Product> existing = new HashMap<>();
+                for (Product product : productRepository.findBySkuIn(rows.keySet())) {
+                    existing.put(product.getSku(), product);
+                }
+                
+                List<ProductCatalogCache.Snapshot> previous = new ArrayList<>();
+                for (Row row : rows.values()) {
+                    Product product = existing.get(row.sku);
+                    if (product == null) {
+                        if (row.name == null || row.price == null || row.category == null || row.stock == null) {
+                            row.error = "name, price, category and stock are required for a new sku";
+                            continue;
+                        }
+                        product = new Product();
+                        product.setSku(row.sku);
+                        row.status = "created";
+                    } else {
+                        previous.add(ProductCatalogCache.snapshot(product));
+                        row.status = "updated";
+                    }
+                    apply(row, product, hotStock);
+                    products.add(product);
+                    written.add(row);
+                }
+                
+                productRepository.saveAll(products);
+                // Caches and the search index are refreshed once for the chunk, after it commits
+                catalogCache.productsChanged(previous, products);
+                searchIndex.productsChanged(products);
+            });
+        } catch (DataAccessException e) {
+            // Typically a concurrent import of one of the skus; the whole chunk is rolled back
+            written.forEach(row -> {
+                row.status = null;
+                row.error = "chunk rejected by the database: " + e.getMostSpecificCause().getMessage();
+            });
+            return;
+        }
+        
+        for (int i = 0; i < written.size(); i++) {
+            written.get(i).id = products.get(i).getId();
+        }
+        hotStock.forEach(stockReservationEngine::replaceStock);
+    }
+    
+    private void apply(Row row, Product product, Map<Long, Integer> hotStock) {
+        if (row.name != null) {
+            product.setName(row.name);
+        }
+        if (row.description != null) {
+            product.setDescription(row.description);
+        }
+        if (row.price != null) {
+            product.setPrice(row.price);
+        }
+        if (row.category != null) {
+            product.setCategory(row.category);
+        }
+        if (row.stock != null) {
+            if (product.getId() != null && stockReservationEngine.isHot(product.getId())) {
+                // Hot stock lives in memory; it is replaced through the engine once the chunk commits
+                hotStock.put(product.getId(), row.stock);
+            } else {
+                product.setStock(row.stock);
+            }
+        }
+    }
+    
+    private static String validateFields(Row row) {
+        if (row.sku == null || row.sku.isBlank()) {
+            return "sku is required";
+        }
+        if (row.sku.length() > 64) {
+            return "sku must be at most 64 characters";
+        }
+        if (row.price != null && row.price < 0) {
+            return "price must not be negative";
+        }
+        if (row.stock != null && row.stock < 0) {
+            return "stock must not be negative";
+        }
+        return null;
+    }
+    
+    private static class Row {
+        long line;
+        String sku;
+        String name;
+        String description;
+        Double price;
+        String category;
+        Integer stock;
+        String parseError;
+        String status;
+        Long id;
+        String error;
+        
+        static Row of(long line, Map<String, String> record) {
+            Row row = new Row();
+            row.line = line;
+            row.sku = blankToNull(record.get("sku"));
+            row.name = blankToNull(record.get("name"));
+            row.description = blankToNull(record.get("description"));
+            row.category = blankToNull(record.get("category"));
+            try {
+                String price = blankToNull(record.get("price"));
+                row.price = price != null ? Double.valueOf(price) : null;
+                String stock = blankToNull(record.get("stock"));
+                row.stock = stock != null ? Integer.valueOf(stock) : null;
+            } catch (NumberFormatException e) {
+                row.parseError = "price and stock must be numbers";
+            }
+            return row;
+        }
+        
+        static Row invalid(long line, String error) {
+            Row row = new Row();
+            row.line = line;
+            row.error = error;
+            return row;
+        }
+        
+        private static String blankToNull(String value) {
+            return value == null || value.isBlank() ? null : value.trim();
+        }
+    }
+}
@@ -1,42 +1,99 @@
 package com.wellness.marketplace.service;
 
+import com.wellness.marketplace.cache.ProductCatalogCache;
+import com.wellness.marketplace.dto.CursorPage;
+import com.wellness.marketplace.dto.ProductSearchHit;
 import com.wellness.marketplace.model.Product;
+import com.wellness.marketplace.repository.KeysetPageRequest;
+import com.wellness.marketplace.repository.KeysetPaginator;
 import com.wellness.marketplace.repository.ProductRepository;
+import com.wellness.marketplace.search.ProductSearchIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import java.util.List;
+import java.util.Set;
 
 @Service
 public class ProductService {
     
+    public static final Set<String> SORTABLE = Set.of("id", "name", "price");
+    public static final int DEFAULT_SEARCH_LIMIT = 20;
+    public static final int MAX_SEARCH_LIMIT = 100;
+    
     @Autowired
     private ProductRepository productRepository;
     
+    @Autowired
+    private KeysetPaginator keysetPaginator;
+    
+    @Autowired
+    private ProductCatalogCache catalogCache;
+    
+    @Autowired
+    private ProductSearchIndex searchIndex;
+    
+    @Autowired
+    private StockReservationEngine stockReservationEngine;
+    
     public Product createProduct(Product product) {
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        catalogCache.productChanged(null, saved);
+        searchIndex.productChanged(saved);
+        return saved;
+    }
+    
+    public CursorPage<Product> getProducts(KeysetPageRequest page, String category,
+                                           Double minPrice, Double maxPrice, Boolean inStock) {
+        Specification<Product> filter = (root, query, cb) -> cb.and(
+                category != null ? cb.equal(root.get("category"), category) : cb.conjunction(),
+                minPrice != null ? cb.greaterThanOrEqualTo(root.get("price"), minPrice) : cb.conjunction(),
+                maxPrice != null ? cb.lessThanOrEqualTo(root.get("price"), maxPrice) : cb.conjunction(),
+                Boolean.TRUE.equals(inStock) ? cb.greaterThan(root.get("stock"), 0) : cb.conjunction()
+        );
+        return keysetPaginator.find(Product.class, page, filter);
     }
     
-    public List<Product> getAllProducts() {
-        return productRepository.findAll();
+    public List<ProductSearchHit> searchProducts(String query, Double minPrice, Double maxPrice,
+                                                 Boolean inStock, Integer limit) {
+        int max = limit == null ? DEFAULT_SEARCH_LIMIT : Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT));
+        return searchIndex.search(query, minPrice, maxPrice, Boolean.TRUE.equals(inStock), max);
+    }
+    
+    public List<String> suggestTerms(String prefix, Integer limit) {
+        int max = limit == null ? 10 : Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT));
+        return searchIndex.suggest(prefix, max);
     }
     
     public Product getProductById(Long id) {
-        return productRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Product not found"));
+        Product product = catalogCache.getById(id, key -> productRepository.findById(key).orElse(null));
+        if (product == null) {
+            throw new RuntimeException("Product not found");
+        }
+        return product;
     }
     
     public List<Product> getProductsByCategory(String category) {
-        return productRepository.findByCategory(category);
+        return catalogCache.getByCategory(category, productRepository::findByCategory);
     }
     
     public List<Product> getAvailableProducts() {
-        return productRepository.findByStockGreaterThan(0);
+        return catalogCache.getAvailable(() -> productRepository.findByStockGreaterThan(0));
     }
     
     public Product updateStock(Long id, Integer stock) {
+        if (stockReservationEngine.isHot(id)) {
+            stockReservationEngine.replaceStock(id, stock);
+            return productRepository.findById(id)
+                    .orElseThrow(() -> new RuntimeException("Product not found"));
+        }
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Product not found"));
+        ProductCatalogCache.Snapshot previous = ProductCatalogCache.snapshot(product);
         product.setStock(stock);
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        catalogCache.productChanged(previous, saved);
+        searchIndex.productChanged(saved);
+        return saved;
     }
 }
@@ -0,0 +1,142 @@
+package com.wellness.marketplace.service;
+
+import com.wellness.marketplace.dto.RatingSummary;
+import com.wellness.marketplace.model.PractitionerRatingStats;
+import com.wellness.marketplace.repository.PractitionerRatingStatsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps a running rating sum, count and star histogram per practitioner so averages are a primary key read.
+ * <p>
+ * Each review upserts its practitioner's row in the review's own transaction, before the review row is
+ * inserted, and copies the new average to {@code practitioner_profiles.rating}. Reconciliation recomputes the
+ * rows from {@code reviews} in chunks, locking the stats rows before reading the reviews; since both paths
+ * take the stats lock first, a review written during reconciliation is counted exactly once.
+ */
+@Service
+public class RatingAggregateService implements ApplicationRunner {
+    
+    private static final Logger log = LoggerFactory.getLogger(RatingAggregateService.class);
+    
+    private static final String RECORD =
+            "INSERT INTO practitioner_rating_stats (practitioner_id, rating_sum, review_count, stars1, stars2, stars3, stars4, stars5) " +
+            "VALUES (?, ?, 1, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE rating_sum = rating_sum + VALUES(rating_sum), " +
+            "review_count = review_count + 1, stars1 = stars1 + VALUES(stars1), stars2 = stars2 + VALUES(stars2), " +
+            "stars3 = stars3 + VALUES(stars3), stars4 = stars4 + VALUES(stars4), stars5 = stars5 + VALUES(stars5)";
+    
+    private static final String SYNC_PROFILES =
+            "UPDATE practitioner_profiles SET rating = (SELECT s.rating_sum * 1.0 / s.review_count " +
+            "FROM practitioner_rating_stats s WHERE s.practitioner_id = practitioner_profiles.id) " +
+            "WHERE id IN (:ids) AND EXISTS (SELECT 1 FROM practitioner_rating_stats s " +
+            "WHERE s.practitioner_id = practitioner_profiles.id AND s.review_count > 0)";
+    
+    private static final String RECOMPUTE =
+            "INSERT INTO practitioner_rating_stats (practitioner_id, rating_sum, review_count, stars1, stars2, stars3, stars4, stars5) " +
+            "SELECT practitioner_id, SUM(rating), COUNT(*), " +
+            "SUM(CASE WHEN rating = 1 THEN 1 ELSE 0 END), SUM(CASE WHEN rating = 2 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN rating = 3 THEN 1 ELSE 0 END), SUM(CASE WHEN rating = 4 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN rating = 5 THEN 1 ELSE 0 END) " +
+            "FROM reviews WHERE practitioner_id IN (:ids) GROUP BY practitioner_id";
+    
+    @Autowired
+    private PractitionerRatingStatsRepository statsRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Value("${ratings.reconcile-chunk-size:500}")
+    private int chunkSize;
+    
+    /**
+     * Adds one review to the practitioner's totals. Must run in the transaction that saves the review,
+     * before the review is flushed.
+     */
+    public void recordReview(Long practitionerId, int rating) {
+        jdbcTemplate.update(RECORD, practitionerId, rating,
+                rating == 1 ? 1 : 0, rating == 2 ? 1 : 0, rating == 3 ? 1 : 0, rating == 4 ? 1 : 0, rating == 5 ? 1 : 0);
+        namedJdbcTemplate.update(SYNC_PROFILES, Map.of("ids", List.of(practitionerId)));
+    }
+    
+    public RatingSummary getSummary(Long practitionerId) {
+        PractitionerRatingStats stats = statsRepository.findById(practitionerId).orElse(null);
+        Map<Integer, Long> histogram = new LinkedHashMap<>();
+        if (stats == null || stats.getReviewCount() == 0) {
+            for (int stars = 1; stars <= 5; stars++) {
+                histogram.put(stars, 0L);
+            }
+            return new RatingSummary(practitionerId, 0L, 0.0, histogram);
+        }
+        histogram.put(1, stats.getStars1());
+        histogram.put(2, stats.getStars2());
+        histogram.put(3, stats.getStars3());
+        histogram.put(4, stats.getStars4());
+        histogram.put(5, stats.getStars5());
+        return new RatingSummary(practitionerId, stats.getReviewCount(),
+                (double) stats.getRatingSum() / stats.getReviewCount(), histogram);
+    }
+    
+    public Double getAverage(Long practitionerId) {
+        return getSummary(practitionerId).getAverage();
+    }
+    
+    /**
+     * Builds the aggregates once when the table is empty but reviews already exist.
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        if (statsRepository.count() == 0) {
+            int practitioners = reconcile();
+            if (practitioners > 0) {
+                log.info("Built rating aggregates for {} practitioners", practitioners);
+            }
+        }
+    }
+    
+    /**
+     * Recomputes every practitioner's aggregates and profile rating from the reviews table, one chunk of
+     * practitioners per transaction. Returns the number of practitioners processed.
+     */
+    @Scheduled(cron = "${ratings.reconcile-cron:0 30 3 * * *}")
+    public int reconcile() {
+        int processed = 0;
+        long after = Long.MIN_VALUE;
+        while (true) {
+            List<Long> ids = jdbcTemplate.queryForList(
+                    "SELECT DISTINCT practitioner_id FROM reviews WHERE practitioner_id > ? ORDER BY practitioner_id LIMIT ?",
+                    Long.class, after, chunkSize);
+            if (ids.isEmpty()) {
+                return processed;
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                Map<String, Object> params = Map.of("ids", ids);
+                namedJdbcTemplate.queryForList(
+                        "SELECT practitioner_id FROM practitioner_rating_stats WHERE practitioner_id IN (:ids) FOR UPDATE",
+                        params, Long.class);
+                namedJdbcTemplate.update("DELETE FROM practitioner_rating_stats WHERE practitioner_id IN (:ids)", params);
+                namedJdbcTemplate.update(RECOMPUTE, params);
+                namedJdbcTemplate.update(SYNC_PROFILES, params);
+            });
+            processed += ids.size();
+            after = ids.get(ids.size() - 1);
+        }
+    }
+}
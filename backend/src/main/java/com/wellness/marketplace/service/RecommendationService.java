@@ -1,20 +1,28 @@
 package com.wellness.marketplace.service;
 
+import com.wellness.marketplace.dto.CursorPage;
 import com.wellness.marketplace.model.Recommendation;
+import com.wellness.marketplace.repository.KeysetPageRequest;
+import com.wellness.marketplace.repository.KeysetPaginator;
 import com.wellness.marketplace.repository.RecommendationRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 @Service
 public class RecommendationService {
     
+    public static final Set<String> SORTABLE = Set.of("id", "timestamp");
+    
     @Autowired
     private RecommendationRepository recommendationRepository;
     
+    @Autowired
+    private KeysetPaginator keysetPaginator;
+    
     private Map<String, String> symptomTherapyMap = new HashMap<>() {{
         put("back pain", "Chiropractic");
         put("stress", "Acupuncture");
@@ -42,7 +50,8 @@ public class RecommendationService {
         return recommendationRepository.save(recommendation);
     }
     
-    public List<Recommendation> getUserRecommendations(Long userId) {
-        return recommendationRepository.findByUserId(userId);
+    public CursorPage<Recommendation> getUserRecommendations(Long userId, KeysetPageRequest page) {
+        return keysetPaginator.find(Recommendation.class, page,
+                (root, query, cb) -> cb.equal(root.get("userId"), userId));
     }
 }
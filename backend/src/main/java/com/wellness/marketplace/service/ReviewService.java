@@ -1,25 +1,65 @@
 package com.wellness.marketplace.service;
 
+import com.wellness.marketplace.cache.PractitionerDirectoryCache;
+import com.wellness.marketplace.dto.CursorPage;
+import com.wellness.marketplace.dto.RatingSummary;
 import com.wellness.marketplace.model.Review;
+import com.wellness.marketplace.repository.KeysetPageRequest;
+import com.wellness.marketplace.repository.KeysetPaginator;
 import com.wellness.marketplace.repository.ReviewRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 
 @Service
 public class ReviewService {
     
+    public static final Set<String> SORTABLE = Set.of("id", "createdAt", "rating");
+    
     @Autowired
     private ReviewRepository reviewRepository;
     
+    @Autowired
+    private KeysetPaginator keysetPaginator;
+    
+    @Autowired
+    private PractitionerDirectoryCache directoryCache;
+    
+    @Autowired
+    private RatingAggregateService ratingAggregateService;
+    
+    @Autowired
+    private PractitionerLeaderboardService leaderboardService;
+    
+    @Transactional
     public Review createReview(Review review) {
+        if (review.getPractitionerId() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "practitionerId is required");
+        }
+        if (review.getRating() == null || review.getRating() < 1 || review.getRating() > 5) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "rating must be between 1 and 5");
+        }
         review.setCreatedAt(LocalDateTime.now());
-        return reviewRepository.save(review);
+        // Totals first: reconciliation locks the stats row before it reads reviews
+        ratingAggregateService.recordReview(review.getPractitionerId(), review.getRating());
+        Review saved = reviewRepository.save(review);
+        directoryCache.directoryChanged();
+        leaderboardService.practitionerChanged(saved.getPractitionerId());
+        return saved;
     }
     
-    public List<Review> getPractitionerReviews(Long practitionerId) {
-        return reviewRepository.findByPractitionerId(practitionerId);
+    public CursorPage<Review> getPractitionerReviews(Long practitionerId, KeysetPageRequest page, Integer minRating) {
+        Specification<Review> filter = (root, query, cb) -> cb.and(
+                cb.equal(root.get("practitionerId"), practitionerId),
+                minRating != null ? cb.greaterThanOrEqualTo(root.get("rating"), minRating) : cb.conjunction()
+        );
+        return keysetPaginator.find(Review.class, page, filter);
     }
     
     public List<Review> getUserReviews(Long userId) {
@@ -27,11 +67,10 @@ public class ReviewService {
     }
     
     public Double calculateAverageRating(Long practitionerId) {
-        List<Review> reviews = reviewRepository.findByPractitionerId(practitionerId);
-        if (reviews.isEmpty()) return 0.0;
-        return reviews.stream()
-                .mapToInt(Review::getRating)
-                .average()
-                .orElse(0.0);
+        return ratingAggregateService.getAverage(practitionerId);
+    }
+    
+    public RatingSummary getRatingSummary(Long practitionerId) {
+        return ratingAggregateService.getSummary(practitionerId);
     }
 }
@@ -0,0 +1,166 @@
+package com.wellness.marketplace.service;
+
+import com.wellness.marketplace.dto.SalesSummary;
+import com.wellness.marketplace.model.Order;
+import com.wellness.marketplace.repository.SalesRollupRepository;
+import com.wellness.marketplace.util.AfterCommit;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps per product, per day sales totals so reports read one row per bucket instead of every order.
+ * <p>
+ * Order writes record deltas after their transaction commits; deltas for the same bucket are coalesced in
+ * memory and upserted in one batch per flush, so a busy product costs one rollup write per interval rather
+ * than a row lock in every order transaction. Deltas still buffered when the process dies are lost; running
+ * the backfill for the affected days rebuilds them from {@code orders}.
+ */
+@Service
+public class SalesRollupService implements ApplicationRunner {
+    
+    private static final Logger log = LoggerFactory.getLogger(SalesRollupService.class);
+    
+    private static final String UPSERT =
+            "INSERT INTO sales_rollups (product_id, sale_date, category, quantity, revenue, order_count) " +
+            "VALUES (?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE category = VALUES(category), " +
+            "quantity = quantity + VALUES(quantity), revenue = revenue + VALUES(revenue), " +
+            "order_count = order_count + VALUES(order_count)";
+    
+    private static final String BACKFILL =
+            "INSERT INTO sales_rollups (product_id, sale_date, category, quantity, revenue, order_count) " +
+            "SELECT o.product_id, CAST(o.order_date AS DATE), p.category, SUM(o.quantity), SUM(o.total_amount), COUNT(*) " +
+            "FROM orders o JOIN products p ON p.id = o.product_id " +
+            "WHERE o.status <> 'cancelled' AND o.order_date >= ? AND o.order_date < ? " +
+            "GROUP BY o.product_id, CAST(o.order_date AS DATE), p.category";
+    
+    @Autowired
+    private SalesRollupRepository rollupRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    private final Map<Bucket, Delta> pending = new ConcurrentHashMap<>();
+    
+    /**
+     * Counts a placed order, or with {@code sign} -1 takes a cancelled one back out.
+     */
+    public void record(Order order, String category, int sign) {
+        Bucket bucket = new Bucket(order.getProductId(), order.getOrderDate().toLocalDate());
+        Delta delta = new Delta(category, sign * (long) order.getQuantity(), sign * order.getTotalAmount(), sign);
+        AfterCommit.run(() -> pending.merge(bucket, delta, Delta::plus));
+    }
+    
+    @Scheduled(fixedDelayString = "${sales.rollup.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        List<Object[]> rows = new ArrayList<>();
+        Map<Bucket, Delta> taken = new HashMap<>();
+        for (Bucket bucket : pending.keySet()) {
+            Delta delta = pending.remove(bucket);
+            if (delta != null) {
+                taken.put(bucket, delta);
+                rows.add(new Object[]{bucket.productId(), Date.valueOf(bucket.day()), delta.category(),
+                        delta.quantity(), delta.revenue(), delta.orders()});
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            // All or nothing, so that putting every delta back cannot count an applied one twice
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPSERT, rows));
+        } catch (RuntimeException e) {
+            taken.forEach((bucket, delta) -> pending.merge(bucket, delta, Delta::plus));
+            log.warn("Could not flush {} sales rollup buckets, will retry", rows.size(), e);
+        }
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        flush();
+    }
+    
+    /**
+     * Builds the rollups once when the table is empty but orders already exist.
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        if (rollupRepository.count() > 0) {
+            return;
+        }
+        LocalDateTime first = jdbcTemplate.queryForObject("SELECT MIN(order_date) FROM orders", LocalDateTime.class);
+        LocalDateTime last = jdbcTemplate.queryForObject("SELECT MAX(order_date) FROM orders", LocalDateTime.class);
+        if (first == null || last == null) {
+            return;
+        }
+        log.info("Backfilled {} sales rollup rows", backfill(first.toLocalDate(), last.toLocalDate()));
+    }
+    
+    /**
+     * Recomputes the rollups for {@code from}..{@code to} inclusive from the orders table. Meant for
+     * closed days: orders placed on those days while it runs may be counted twice.
+     */
+    public synchronized int backfill(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must not be after to");
+        }
+        flush();
+        Integer rows = transactionTemplate.execute(status -> {
+            jdbcTemplate.update("DELETE FROM sales_rollups WHERE sale_date >= ? AND sale_date <= ?",
+                    Date.valueOf(from), Date.valueOf(to));
+            return jdbcTemplate.update(BACKFILL, from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+        });
+        return rows == null ? 0 : rows;
+    }
+    
+    public List<SalesSummary> summarize(LocalDate from, LocalDate to, String groupBy, String category) {
+        if (from.isAfter(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must not be after to");
+        }
+        List<SalesSummary> result = new ArrayList<>();
+        switch (groupBy) {
+            case "category" -> rollupRepository.sumByCategory(from, to, category).forEach(row ->
+                    result.add(summary((String) row[0], null, null, row)));
+            case "product" -> rollupRepository.sumByProduct(from, to, category).forEach(row ->
+                    result.add(summary(null, (Long) row[0], null, row)));
+            case "day" -> rollupRepository.sumByDay(from, to, category).forEach(row ->
+                    result.add(summary(null, null, (LocalDate) row[0], row)));
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "groupBy must be category, product or day");
+        }
+        return result;
+    }
+    
+    private static SalesSummary summary(String category, Long productId, LocalDate day, Object[] row) {
+        return new SalesSummary(category, productId, day, ((Number) row[1]).longValue(),
+                ((Number) row[2]).doubleValue(), ((Number) row[3]).longValue());
+    }
+    
+    private record Bucket(Long productId, LocalDate day) {
+    }
+    
+    private record Delta(String category, long quantity, double revenue, long orders) {
+        Delta plus(Delta other) {
+            return new Delta(other.category, quantity + other.quantity, revenue + other.revenue, orders + other.orders);
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.wellness.marketplace.service;
+
+import com.wellness.marketplace.cache.UserCache;
+import com.wellness.marketplace.dto.SessionBatchStatusRequest;
+import com.wellness.marketplace.dto.SessionStatusResult;
+import com.wellness.marketplace.model.Notification;
+import com.wellness.marketplace.model.PractitionerProfile;
+import com.wellness.marketplace.model.User;
+import com.wellness.marketplace.repository.PractitionerProfileRepository;
+import com.wellness.marketplace.util.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Moves sessions out of {@code booked} in bulk: a scheduled job closes sessions that ended more than the grace
+ * period ago, and practitioners can change many of their sessions at once. Both lock the affected rows, change
+ * them with one {@code UPDATE ... WHERE id IN (...)} per status and notify the patients in the same transaction.
+ */
+@Service
+public class SessionLifecycleService {
+    
+    private static final Logger log = LoggerFactory.getLogger(SessionLifecycleService.class);
+    
+    public static final String COMPLETED = "completed";
+    public static final String NO_SHOW = "no_show";
+    
+    private static final Set<String> BATCH_STATUSES = Set.of(COMPLETED, NO_SHOW, AvailabilityEngine.CANCELLED);
+    private static final int MAX_BATCH = 500;
+    
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private NotificationService notificationService;
+    
+    @Autowired
+    private AvailabilityEngine availabilityEngine;
+    
+    @Autowired
+    private SessionReminderService reminderService;
+    
+    @Autowired
+    private PractitionerLeaderboardService leaderboardService;
+    
+    @Autowired
+    private UserCache userCache;
+    
+    @Autowired
+    private PractitionerProfileRepository practitionerProfileRepository;
+    
+    @Value("${availability.session-minutes:60}")
+    private int sessionMinutes;
+    
+    @Value("${sessions.lifecycle.grace-minutes:720}")
+    private int graceMinutes;
+    
+    @Value("${sessions.lifecycle.chunk-size:500}")
+    private int chunkSize;
+    
+    /**
+     * Closes booked sessions that ended more than the grace period ago: sessions the practitioner wrote notes
+     * for become {@code completed}, the rest {@code no_show}. One chunk per transaction, oldest first.
+     * Returns the number of sessions closed.
+     */
+    @Scheduled(fixedDelayString = "${sessions.lifecycle.interval-ms:300000}")
+    public int closePastSessions() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(sessionMinutes + graceMinutes);
+        int closed = 0;
+        while (true) {
+            Integer count = transactionTemplate.execute(status -> closeChunk(cutoff));
+            closed += count;
+            if (count < chunkSize) {
+                break;
+            }
+        }
+        if (closed > 0) {
+            log.info("Closed {} past sessions", closed);
+        }
+        return closed;
+    }
+    
+    private int closeChunk(LocalDateTime cutoff) {
+        List<SessionRow> rows = namedJdbcTemplate.query(
+                "SELECT id, user_id, practitioner_id, date, status, LENGTH(notes) > 0 AS attended FROM therapy_sessions " +
+                "WHERE status = 'booked' AND date < :cutoff ORDER BY date LIMIT :limit FOR UPDATE",
+                Map.of("cutoff", cutoff, "limit", chunkSize), SessionRow.MAPPER);
+        Map<String, List<SessionRow>> byStatus = new HashMap<>();
+        for (SessionRow row : rows) {
+            byStatus.computeIfAbsent(row.attended() ? COMPLETED : NO_SHOW, status -> new ArrayList<>()).add(row);
+        }
+        byStatus.forEach(this::apply);
+        return rows.size();
+    }
+    
+    /**
+     * Sets {@code status} on many of the calling practitioner's sessions in one transaction. Sessions of other
+     * practitioners and sessions already in that status are reported as skipped. Admins name the practitioner
+     * in the request; anyone else may only name their own profile, or leave it out.
+     */
+    @Transactional
+    public List<SessionStatusResult> updateStatuses(SessionBatchStatusRequest request) {
+        Long practitionerId = callerPractitionerId(request.getPractitionerId());
+        if (!BATCH_STATUSES.contains(request.getStatus())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "status must be one of " + BATCH_STATUSES);
+        }
+        List<Long> sessionIds = request.getSessionIds() != null ? request.getSessionIds() : List.of();
+        if (sessionIds.size() > MAX_BATCH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + MAX_BATCH + " sessions per request");
+        }
+        Set<Long> distinct = new LinkedHashSet<>(sessionIds);
+        distinct.remove(null);
+        if (distinct.isEmpty()) {
+            return List.of();
+        }
+        
+        Map<Long, SessionRow> found = new HashMap<>();
+        namedJdbcTemplate.query(
+                "SELECT id, user_id, practitioner_id, date, status, FALSE AS attended FROM therapy_sessions WHERE id IN (:ids) FOR UPDATE",
+                Map.of("ids", distinct), SessionRow.MAPPER).forEach(row -> found.put(row.id(), row));
+        
+        List<SessionStatusResult> results = new ArrayList<>(distinct.size());
+        List<SessionRow> changed = new ArrayList<>();
+        for (Long id : distinct) {
+            SessionRow row = found.get(id);
+            String error = null;
+            if (row == null || !row.practitionerId().equals(practitionerId)) {
+                error = "Session not found";
+            } else if (request.getStatus().equals(row.status())) {
+                error = "Session is already " + row.status();
+            } else if (AvailabilityEngine.CANCELLED.equals(row.status())) {
+                error = "Cancelled sessions cannot be changed";
+            }
+            if (error != null) {
+                results.add(new SessionStatusResult(id, "skipped", error));
+            } else {
+                changed.add(row);
+                results.add(new SessionStatusResult(id, "updated", null));
+            }
+        }
+        if (!changed.isEmpty()) {
+            apply(request.getStatus(), changed);
+        }
+        return results;
+    }
+    
+    private Long callerPractitionerId(Long requested) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        User caller = authentication == null ? null : userCache.findByEmail(authentication.getName()).orElse(null);
+        if (caller == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED);
+        }
+        if ("admin".equals(caller.getRole())) {
+            if (requested == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "practitionerId is required");
+            }
+            return requested;
+        }
+        Long own = practitionerProfileRepository.findByUserId(caller.getId()).map(PractitionerProfile::getId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.FORBIDDEN, "Only practitioners can update their sessions"));
+        if (requested != null && !requested.equals(own)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Sessions of another practitioner cannot be updated");
+        }
+        return own;
+    }
+    
+    private void apply(String status, List<SessionRow> rows) {
+        List<Long> ids = rows.stream().map(SessionRow::id).toList();
+        namedJdbcTemplate.update("UPDATE therapy_sessions SET status = :status WHERE id IN (:ids)",
+                Map.of("status", status, "ids", ids));
+        
+        List<Notification> notifications = new ArrayList<>(rows.size());
+        for (SessionRow row : rows) {
+            notifications.add(new Notification(null, row.userId(), "session_" + status, message(status, row.date()), null, null));
+        }
+        notificationService.createNotifications(notifications);
+        
+        // The in-memory calendar, reminders and trending board follow once the rows are committed
+        // Every status but cancelled still holds its slot in the calendar
+        List<SessionRow> released = rows.stream().filter(row -> !AvailabilityEngine.CANCELLED.equals(row.status())).toList();
+        AfterCommit.run(() -> {
+            reminderService.sessionsEnded(ids);
+            if (AvailabilityEngine.CANCELLED.equals(status)) {
+                released.forEach(row -> availabilityEngine.release(row.practitionerId(), row.date()));
+            }
+        });
+        if (AvailabilityEngine.CANCELLED.equals(status)) {
+            rows.stream().map(SessionRow::practitionerId).distinct().forEach(leaderboardService::practitionerChanged);
+        }
+    }
+    
+    private static String message(String status, LocalDateTime date) {
+        String when = date.format(SessionReminderService.DATE_FORMAT);
+        return switch (status) {
+            case COMPLETED -> "Your session on " + when + " is complete. You can now leave a review.";
+            case NO_SHOW -> "You missed your session on " + when + ".";
+            default -> "Your session on " + when + " was cancelled by your practitioner.";
+        };
+    }
+    
+    private record SessionRow(Long id, Long userId, Long practitionerId, LocalDateTime date, String status, boolean attended) {
+        static final RowMapper<SessionRow> MAPPER = (rs, rowNum) -> new SessionRow(
+                rs.getLong("id"), rs.getLong("user_id"), rs.getLong("practitioner_id"),
+                rs.getTimestamp("date").toLocalDateTime(), rs.getString("status"), rs.getBoolean("attended"));
+    }
+}
@@ -0,0 +1,222 @@
+package com.wellness.marketplace.service;
+
+import com.wellness.marketplace.model.Notification;
+import com.wellness.marketplace.model.TherapySession;
+import com.wellness.marketplace.util.TimingWheel;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sends "your session starts in 24 hours / 1 hour" notifications for booked sessions.
+ * <p>
+ * Each reminder is an entry in a {@link TimingWheel} ticked every {@code reminders.tick-ms}, so pending
+ * reminders cost memory but no queries until they fire. Cancelling or rescheduling a session does not touch
+ * the wheel: a reminder only fires while its session is still pending at the date it was scheduled for.
+ * The reminders due in one tick are inserted as one batch, together with an update of the sessions'
+ * {@code remindersSent} level. Pending state only advances once that batch commits, and a batch that fails is
+ * put back on the wheel for the next tick. At startup the wheel is rebuilt from booked upcoming sessions without
+ * repeating a reminder; one that fell due while the application was down is sent at once unless a
+ * later one is due as well.
+ */
+@Service
+public class SessionReminderService implements ApplicationRunner {
+    
+    private static final Logger log = LoggerFactory.getLogger(SessionReminderService.class);
+    
+    public static final String NOTIFICATION_TYPE = "session_reminder";
+    
+    static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("EEE d MMM 'at' HH:mm", Locale.ENGLISH);
+    
+    @Autowired
+    private NotificationService notificationService;
+    
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${reminders.tick-ms:1000}")
+    private long tickMs;
+    
+    @Value("${reminders.wheel-size:64}")
+    private int wheelSize;
+    
+    @Value("${reminders.wheel-levels:4}")
+    private int wheelLevels;
+    
+    private TimingWheel<Reminder> wheel;
+    private final Map<Long, Pending> pending = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+    
+    @PostConstruct
+    void init() {
+        wheel = new TimingWheel<>(tickMs, wheelSize, wheelLevels, System.currentTimeMillis());
+        Gauge.builder("sessions.reminders.pending", this, service -> service.pending.size()).register(meterRegistry);
+    }
+    
+    /**
+     * Loads booked sessions that have not started yet. Sessions booked meanwhile are scheduled twice at worst,
+     * which the pending check absorbs.
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        LocalDateTime now = LocalDateTime.now();
+        int[] loaded = {0};
+        namedJdbcTemplate.query(
+                "SELECT id, user_id, date, booked_at, reminders_sent FROM therapy_sessions WHERE status = 'booked' AND date > :now",
+                Map.of("now", now), rs -> {
+                    Timestamp bookedAt = rs.getTimestamp("booked_at");
+                    schedule(rs.getLong("id"), rs.getLong("user_id"), rs.getTimestamp("date").toLocalDateTime(),
+                            bookedAt != null ? bookedAt.toLocalDateTime() : null, rs.getInt("reminders_sent"), now);
+                    loaded[0]++;
+                });
+        ready = true;
+        log.info("Scheduled reminders for {} upcoming sessions", loaded[0]);
+    }
+    
+    public void sessionScheduled(TherapySession session) {
+        if ("booked".equals(session.getStatus())) {
+            int sent = session.getRemindersSent() != null ? session.getRemindersSent() : 0;
+            schedule(session.getId(), session.getUserId(), session.getDate(), session.getBookedAt(), sent, LocalDateTime.now());
+        } else {
+            pending.remove(session.getId());
+        }
+    }
+    
+    public void sessionsEnded(Collection<Long> sessionIds) {
+        sessionIds.forEach(pending::remove);
+    }
+    
+    @Scheduled(fixedDelayString = "${reminders.tick-ms:1000}")
+    public void tick() {
+        if (!ready) {
+            return;
+        }
+        List<Reminder> due;
+        synchronized (wheel) {
+            due = wheel.advance(System.currentTimeMillis());
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+        
+        List<Reminder> firing = new ArrayList<>();
+        Map<Kind, List<Long>> sessionIds = new EnumMap<>(Kind.class);
+        List<Notification> notifications = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (Reminder reminder : due) {
+            if (isPending(pending.get(reminder.sessionId()), reminder)) {
+                firing.add(reminder);
+                sessionIds.computeIfAbsent(reminder.kind(), kind -> new ArrayList<>()).add(reminder.sessionId());
+                notifications.add(new Notification(null, reminder.userId(), NOTIFICATION_TYPE,
+                        "Your session on " + reminder.date().format(DATE_FORMAT) + " starts in "
+                                + describe(Duration.between(now, reminder.date())) + ".",
+                        null, null));
+            }
+        }
+        if (notifications.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                notificationService.createNotifications(notifications);
+                sessionIds.forEach((kind, ids) -> namedJdbcTemplate.update(
+                        "UPDATE therapy_sessions SET reminders_sent = :level WHERE id IN (:ids) AND COALESCE(reminders_sent, 0) < :level",
+                        Map.of("level", kind.level, "ids", ids)));
+            });
+        } catch (RuntimeException e) {
+            // Nothing was sent; pending is untouched, so putting the reminders back retries them on the next tick
+            log.warn("Could not send {} session reminders, retrying", firing.size(), e);
+            synchronized (wheel) {
+                firing.forEach(reminder -> wheel.add(System.currentTimeMillis(), reminder));
+            }
+            return;
+        }
+        for (Reminder reminder : firing) {
+            pending.computeIfPresent(reminder.sessionId(), (id, current) -> !isPending(current, reminder) ? current
+                    : reminder.kind().level >= current.last() ? null : current.withSent(reminder.kind().level));
+        }
+    }
+    
+    private static boolean isPending(Pending current, Reminder reminder) {
+        return current != null && current.date().equals(reminder.date()) && current.sent() < reminder.kind().level;
+    }
+    
+    private void schedule(Long sessionId, Long userId, LocalDateTime date, LocalDateTime bookedAt, int sent, LocalDateTime now) {
+        // A reminder is skipped if it was already due at booking time, or if a later one is due by now
+        List<Kind> kinds = new ArrayList<>();
+        for (Kind kind : Kind.values()) {
+            LocalDateTime fireAt = date.minus(kind.before);
+            if (sent < kind.level && (bookedAt == null || fireAt.isAfter(bookedAt))) {
+                kinds.add(kind);
+            }
+        }
+        List<Kind> candidates = List.copyOf(kinds);
+        kinds.removeIf(kind -> candidates.stream().anyMatch(later -> later.level > kind.level && !date.minus(later.before).isAfter(now)));
+        if (!date.isAfter(now) || kinds.isEmpty()) {
+            pending.remove(sessionId);
+            return;
+        }
+        pending.put(sessionId, new Pending(date, sent, kinds.get(kinds.size() - 1).level));
+        synchronized (wheel) {
+            // Past fire times come due on the next tick
+            kinds.forEach(kind -> wheel.add(toEpochMilli(date.minus(kind.before)), new Reminder(sessionId, userId, date, kind)));
+        }
+    }
+    
+    private static String describe(Duration remaining) {
+        long minutes = Math.max(1, Math.round(remaining.getSeconds() / 60.0));
+        if (minutes < 55) {
+            return minutes == 1 ? "1 minute" : minutes + " minutes";
+        }
+        long hours = Math.round(minutes / 60.0);
+        return hours == 1 ? "1 hour" : hours + " hours";
+    }
+    
+    private static long toEpochMilli(LocalDateTime time) {
+        return Timestamp.valueOf(time).getTime();
+    }
+    
+    private enum Kind {
+        DAY_BEFORE(1, Duration.ofHours(24)),
+        HOUR_BEFORE(2, Duration.ofHours(1));
+        
+        final int level;
+        final Duration before;
+        
+        Kind(int level, Duration before) {
+            this.level = level;
+            this.before = before;
+        }
+    }
+    
+    private record Reminder(Long sessionId, Long userId, LocalDateTime date, Kind kind) {
+    }
+    
+    private record Pending(LocalDateTime date, int sent, int last) {
+        Pending withSent(int level) {
+            return new Pending(date, level, last);
+        }
+    }
+}
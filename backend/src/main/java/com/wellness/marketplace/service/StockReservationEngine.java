@@ -0,0 +1,264 @@
+package com.wellness.marketplace.service;
+
+import com.wellness.marketplace.cache.ProductCatalogCache;
+import com.wellness.marketplace.model.Order;
+import com.wellness.marketplace.repository.OrderRepository;
+import com.wellness.marketplace.repository.ProductRepository;
+import com.wellness.marketplace.search.ProductSearchIndex;
+import com.wellness.marketplace.util.AfterCommit;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Takes stock for orders without a read-modify-write on the product row.
+ * <p>
+ * By default a reservation is a single conditional {@code UPDATE ... SET stock = stock - n WHERE stock >= n},
+ * so two orders for the last unit can never both succeed. The update joins the caller's transaction, so the
+ * product row stays locked until the order commits and buyers of one product still queue on it.
+ * Products listed in {@code inventory.hot-products} draw from striped in-memory counters instead, and their
+ * rows are written behind: orders are saved with {@code stockPending} set, and each flush subtracts and
+ * clears a batch of them in one transaction.
+ * Pending orders left by a crash are applied before a counter is first loaded, so the database stays the
+ * source of truth. Hot mode assumes a single application instance.
+ */
+@Service
+public class StockReservationEngine implements ApplicationRunner {
+    
+    private static final Logger log = LoggerFactory.getLogger(StockReservationEngine.class);
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired
+    private OrderRepository orderRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private ProductCatalogCache catalogCache;
+    
+    @Autowired
+    private ProductSearchIndex searchIndex;
+    
+    @Value("${inventory.hot-products:}")
+    private String hotProducts;
+    
+    @Value("${inventory.stripes:16}")
+    private int stripes;
+    
+    private final Set<Long> hotProductIds = new HashSet<>();
+    private final Map<Long, StripedStock> hotStock = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private TransactionTemplate separateTransaction;
+    
+    @PostConstruct
+    void init() {
+        for (String id : hotProducts.split(",")) {
+            if (!id.isBlank()) {
+                hotProductIds.add(Long.valueOf(id.trim()));
+            }
+        }
+        separateTransaction = new TransactionTemplate(transactionManager);
+        separateTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+    
+    /**
+     * Applies stock still pending from before a restart, including for products no longer marked hot.
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        for (Long productId : orderRepository.findProductIdsWithStockPending()) {
+            flush(productId);
+        }
+    }
+    
+    public boolean isHot(Long productId) {
+        return hotProductIds.contains(productId);
+    }
+    
+    /**
+     * Takes {@code quantity} units or throws. Returns true when they were taken from a hot product's
+     * counter, in which case the order must be saved with {@code stockPending} set; the units are put
+     * back if the surrounding transaction rolls back.
+     */
+    public boolean reserve(Long productId, int quantity) {
+        if (!isHot(productId)) {
+            if (productRepository.decrementStock(productId, quantity) == 0) {
+                throw new RuntimeException("Insufficient stock");
+            }
+            return false;
+        }
+        
+        StripedStock stock = hotStock(productId);
+        if (!stock.take(quantity)) {
+            throw new RuntimeException("Insufficient stock");
+        }
+        AfterCommit.onRollback(() -> stock.give(quantity));
+        return true;
+    }
+    
+    /**
+     * Sets a hot product's available stock. Applied to the row as a delta, so reservations
+     * that are still waiting to be flushed keep their claim.
+     */
+    public void replaceStock(Long productId, int available) {
+        StripedStock stock = hotStock(productId);
+        synchronized (stock) {
+            int current = stock.drain();
+            try {
+                separateTransaction.executeWithoutResult(status ->
+                        productRepository.adjustStock(productId, available - current));
+            } catch (RuntimeException e) {
+                stock.spread(current);
+                throw e;
+            }
+            stock.spread(available);
+        }
+        productChanged(productId);
+    }
+    
+    @Scheduled(fixedDelayString = "${inventory.flush-interval-ms:1000}")
+    public void flushHotStock() {
+        for (Long productId : hotStock.keySet()) {
+            flush(productId);
+        }
+    }
+    
+    private StripedStock hotStock(Long productId) {
+        StripedStock stock = hotStock.get(productId);
+        if (stock != null) {
+            return stock;
+        }
+        // Loaded outside the map so the queries do not hold a map bin; when two threads load the same
+        // product at once, the first counter stored wins and the other is dropped before taking any stock
+        flush(productId);
+        Integer available = productRepository.findStockById(productId)
+                .orElseThrow(() -> new RuntimeException("Product not found"));
+        StripedStock loaded = new StripedStock(stripes, Math.max(available, 0));
+        StripedStock existing = hotStock.putIfAbsent(productId, loaded);
+        return existing != null ? existing : loaded;
+    }
+    
+    private void flush(Long productId) {
+        int applied;
+        flushLock.lock();
+        try {
+            applied = separateTransaction.execute(status -> {
+                List<Order> pending = orderRepository.findStockPending(productId);
+                if (pending.isEmpty()) {
+                    return 0;
+                }
+                int quantity = 0;
+                List<Long> ids = new ArrayList<>(pending.size());
+                for (Order order : pending) {
+                    quantity += order.getQuantity();
+                    ids.add(order.getId());
+                }
+                productRepository.adjustStock(productId, -quantity);
+                orderRepository.clearStockPending(ids);
+                return quantity;
+            });
+        } catch (RuntimeException e) {
+            log.warn("Could not flush pending stock for product {}", productId, e);
+            return;
+        } finally {
+            flushLock.unlock();
+        }
+        if (applied > 0) {
+            productChanged(productId);
+        }
+    }
+    
+    private void productChanged(Long productId) {
+        productRepository.findById(productId).ifPresent(product -> {
+            // The product may have been in stock before, whatever it shows now
+            catalogCache.productChanged(new ProductCatalogCache.Snapshot(productId, product.getCategory(), true), product);
+            searchIndex.productChanged(product);
+        });
+    }
+    
+    /**
+     * Stock split across padded atomic stripes so concurrent buyers rarely touch the same cache line.
+     * When no single stripe can cover a request, the stripes are drained and redistributed under the
+     * monitor, which keeps the total exact.
+     */
+    private static final class StripedStock {
+        
+        private static final int PADDING = 16;
+        
+        private final AtomicIntegerArray cells;
+        private final int stripes;
+        
+        StripedStock(int stripes, int available) {
+            this.stripes = Math.max(1, stripes);
+            this.cells = new AtomicIntegerArray(this.stripes * PADDING);
+            spread(available);
+        }
+        
+        boolean take(int quantity) {
+            int start = ThreadLocalRandom.current().nextInt(stripes);
+            for (int k = 0; k < stripes; k++) {
+                int cell = ((start + k) % stripes) * PADDING;
+                int current = cells.get(cell);
+                while (current >= quantity) {
+                    if (cells.compareAndSet(cell, current, current - quantity)) {
+                        return true;
+                    }
+                    current = cells.get(cell);
+                }
+            }
+            synchronized (this) {
+                int total = drain();
+                if (total < quantity) {
+                    spread(total);
+                    return false;
+                }
+                spread(total - quantity);
+                return true;
+            }
+        }
+        
+        void give(int quantity) {
+            cells.addAndGet(ThreadLocalRandom.current().nextInt(stripes) * PADDING, quantity);
+        }
+        
+        int drain() {
+            int total = 0;
+            for (int i = 0; i < stripes; i++) {
+                total += cells.getAndSet(i * PADDING, 0);
+            }
+            return total;
+        }
+        
+        void spread(int total) {
+            int share = total / stripes;
+            for (int i = 0; i < stripes; i++) {
+                cells.addAndGet(i * PADDING, i == 0 ? share + total % stripes : share);
+            }
+        }
+        
+        int available() {
+            int total = 0;
+            for (int i = 0; i < stripes; i++) {
+                total += cells.get(i * PADDING);
+            }
+            return total;
+        }
+    }
+}
@@ -1,20 +1,115 @@
 package com.wellness.marketplace.service;
 
+import com.wellness.marketplace.dto.AvailabilitySlot;
+import com.wellness.marketplace.dto.CursorPage;
+import com.wellness.marketplace.dto.SessionCalendarEntry;
 import com.wellness.marketplace.model.TherapySession;
+import com.wellness.marketplace.repository.KeysetPageRequest;
+import com.wellness.marketplace.repository.KeysetPaginator;
 import com.wellness.marketplace.repository.TherapySessionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 
 @Service
 public class TherapySessionService {
     
+    public static final Set<String> CALENDAR_SORTABLE = Set.of("date");
+    
+    private static final KeysetPaginator.Projection<TherapySession, SessionCalendarEntry> CALENDAR_ENTRY = (root, query, cb) ->
+            cb.construct(SessionCalendarEntry.class,
+                    root.get("id"),
+                    root.get("practitionerId"),
+                    root.get("userId"),
+                    root.get("date"),
+                    root.get("status"));
+    
     @Autowired
     private TherapySessionRepository sessionRepository;
     
+    @Autowired
+    private PractitionerLeaderboardService leaderboardService;
+    
+    @Autowired
+    private AvailabilityEngine availabilityEngine;
+    
+    @Autowired
+    private KeysetPaginator keysetPaginator;
+    
+    @Autowired
+    private SessionReminderService reminderService;
+    
+    /**
+     * Books the slot at {@code session.date}; fails with 409 when it overlaps another booking of the practitioner.
+     */
     public TherapySession bookSession(TherapySession session) {
+        if (session.getPractitionerId() == null || session.getUserId() == null || session.getDate() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "practitionerId, userId and date are required");
+        }
+        checkFuture(session.getDate());
+        // Stored at the precision the calendar keeps, so the slot is found again when the row is read back
+        session.setDate(AvailabilityEngine.slotStart(session.getDate()));
+        session.setId(null);
         session.setStatus("booked");
-        return sessionRepository.save(session);
+        session.setBookedAt(LocalDateTime.now());
+        session.setRemindersSent(0);
+        availabilityEngine.reserve(session.getPractitionerId(), session.getDate());
+        TherapySession saved;
+        try {
+            saved = sessionRepository.save(session);
+        } catch (RuntimeException e) {
+            availabilityEngine.release(session.getPractitionerId(), session.getDate());
+            throw e;
+        }
+        leaderboardService.practitionerChanged(saved.getPractitionerId());
+        reminderService.sessionScheduled(saved);
+        return saved;
+    }
+    
+    /**
+     * Moves a booked session to {@code date}; fails with 409 when the new slot overlaps another booking.
+     * Reminders are sent again for the new date.
+     */
+    public TherapySession rescheduleSession(Long id, LocalDateTime date) {
+        if (date == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "date is required");
+        }
+        checkFuture(date);
+        date = AvailabilityEngine.slotStart(date);
+        TherapySession session = sessionRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Session not found"));
+        if (!"booked".equals(session.getStatus())) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Only booked sessions can be rescheduled");
+        }
+        LocalDateTime previous = session.getDate();
+        availabilityEngine.move(session.getPractitionerId(), previous, date);
+        session.setDate(date);
+        session.setRemindersSent(0);
+        TherapySession saved;
+        try {
+            saved = sessionRepository.save(session);
+        } catch (RuntimeException e) {
+            availabilityEngine.move(session.getPractitionerId(), date, previous);
+            throw e;
+        }
+        reminderService.sessionScheduled(saved);
+        return saved;
+    }
+    
+    private static void checkFuture(LocalDateTime date) {
+        if (date.isBefore(LocalDateTime.now())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "date must be in the future");
+        }
+    }
+    
+    public List<AvailabilitySlot> getAvailability(Long practitionerId, LocalDate from, LocalDate to) {
+        return availabilityEngine.findFreeSlots(practitionerId, from, to);
     }
     
     public List<TherapySession> getUserSessions(Long userId) {
@@ -25,11 +120,49 @@ public class TherapySessionService {
         return sessionRepository.findByPractitionerId(practitionerId);
     }
     
+    /**
+     * Sessions of one practitioner or user between {@code from} and {@code to} (inclusive days), without notes.
+     * The owner and date range are the leading columns of the matching composite index.
+     */
+    public CursorPage<SessionCalendarEntry> getCalendar(String owner, Long ownerId, LocalDate from, LocalDate to,
+                                                        Set<String> statuses, KeysetPageRequest page) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from and to are required and to must not be before from");
+        }
+        Specification<TherapySession> filter = (root, query, cb) -> cb.and(
+                cb.equal(root.get(owner), ownerId),
+                cb.greaterThanOrEqualTo(root.get("date"), from.atStartOfDay()),
+                cb.lessThan(root.get("date"), to.plusDays(1).atStartOfDay()),
+                statuses != null && !statuses.isEmpty() ? root.get("status").in(statuses) : cb.conjunction()
+        );
+        return keysetPaginator.find(TherapySession.class, SessionCalendarEntry.class, page, filter, CALENDAR_ENTRY);
+    }
+    
     public TherapySession updateSessionStatus(Long id, String status) {
         TherapySession session = sessionRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Session not found"));
+        boolean wasCancelled = AvailabilityEngine.CANCELLED.equals(session.getStatus());
+        boolean cancelled = AvailabilityEngine.CANCELLED.equals(status);
+        if (wasCancelled && !cancelled) {
+            // Reinstating a cancelled session takes its slot back, if nobody else has it
+            availabilityEngine.reserve(session.getPractitionerId(), session.getDate());
+        }
         session.setStatus(status);
-        return sessionRepository.save(session);
+        TherapySession saved;
+        try {
+            saved = sessionRepository.save(session);
+        } catch (RuntimeException e) {
+            if (wasCancelled && !cancelled) {
+                availabilityEngine.release(session.getPractitionerId(), session.getDate());
+            }
+            throw e;
+        }
+        if (cancelled && !wasCancelled) {
+            availabilityEngine.release(saved.getPractitionerId(), saved.getDate());
+        }
+        leaderboardService.practitionerChanged(saved.getPractitionerId());
+        reminderService.sessionScheduled(saved);
+        return saved;
     }
     
     public TherapySession addNotes(Long id, String notes) {
@@ -0,0 +1,147 @@
+package com.wellness.marketplace.service;
+
+import com.wellness.marketplace.model.Notification;
+import com.wellness.marketplace.model.NotificationStatus;
+import com.wellness.marketplace.util.AfterCommit;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unread notification counts per user, so the badge poll is a map lookup instead of a query.
+ * <p>
+ * A user's counter is loaded with one indexed {@code COUNT} the first time it is asked for and then follows
+ * every committed insert and read-state change. A change that commits while a counter is being loaded can be
+ * counted twice or not at all, so a scheduled reconcile recounts the held counters in chunks and corrects the
+ * ones that did not move during the recount. Counters not asked for since the previous reconcile are dropped,
+ * which keeps memory and reconcile cost proportional to the users who actually poll. Assumes a single
+ * application instance.
+ */
+@Service
+public class UnreadNotificationCounter {
+    
+    private static final Logger log = LoggerFactory.getLogger(UnreadNotificationCounter.class);
+    
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${notifications.unread.reconcile-chunk-size:500}")
+    private int chunkSize;
+    
+    private final Map<Long, Counter> counters = new ConcurrentHashMap<>();
+    
+    @PostConstruct
+    void init() {
+        Gauge.builder("notifications.unread.counters", counters, Map::size).register(meterRegistry);
+    }
+    
+    public int getUnreadCount(Long userId) {
+        Counter counter = counters.get(userId);
+        if (counter == null) {
+            int count = countUnread(List.of(userId)).getOrDefault(userId, 0);
+            counter = counters.computeIfAbsent(userId, id -> new Counter(count));
+        }
+        counter.polled = true;
+        return Math.max(0, counter.count.get());
+    }
+    
+    /**
+     * Counts newly saved unread notifications once their transaction commits.
+     */
+    public void added(Collection<Notification> notifications) {
+        Map<Long, Integer> deltas = new HashMap<>();
+        for (Notification notification : notifications) {
+            if (notification.getStatus() == NotificationStatus.UNREAD) {
+                deltas.merge(notification.getUserId(), 1, Integer::sum);
+            }
+        }
+        AfterCommit.run(() -> deltas.forEach(this::adjust));
+    }
+    
+    /**
+     * Takes {@code count} notifications of the user off the counter once their transaction commits.
+     */
+    public void read(Long userId, int count) {
+        if (count > 0) {
+            AfterCommit.run(() -> adjust(userId, -count));
+        }
+    }
+    
+    @Scheduled(initialDelayString = "${notifications.unread.reconcile-interval-ms:60000}",
+            fixedDelayString = "${notifications.unread.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        counters.entrySet().removeIf(entry -> !entry.getValue().polled);
+        List<Long> userIds = new ArrayList<>(counters.keySet());
+        int corrected = 0;
+        for (int from = 0; from < userIds.size(); from += chunkSize) {
+            List<Long> chunk = userIds.subList(from, Math.min(from + chunkSize, userIds.size()));
+            Map<Long, Integer> versions = new HashMap<>();
+            for (Long userId : chunk) {
+                Counter counter = counters.get(userId);
+                if (counter != null) {
+                    counter.polled = false;
+                    versions.put(userId, counter.version.get());
+                }
+            }
+            Map<Long, Integer> actual = countUnread(versions.keySet());
+            for (Map.Entry<Long, Integer> entry : versions.entrySet()) {
+                Counter counter = counters.get(entry.getKey());
+                int count = actual.getOrDefault(entry.getKey(), 0);
+                // A counter that moved during the recount is left for the next round
+                if (counter != null && counter.version.get() == entry.getValue() && counter.count.get() != count) {
+                    counter.count.set(count);
+                    corrected++;
+                }
+            }
+        }
+        if (corrected > 0) {
+            log.info("Corrected {} unread notification counters", corrected);
+        }
+    }
+    
+    private void adjust(Long userId, int delta) {
+        // Users without a counter are counted from the table when they first poll
+        Counter counter = counters.get(userId);
+        if (counter != null) {
+            counter.version.incrementAndGet();
+            counter.count.addAndGet(delta);
+        }
+    }
+    
+    private Map<Long, Integer> countUnread(Collection<Long> userIds) {
+        Map<Long, Integer> counts = new HashMap<>();
+        if (userIds.isEmpty()) {
+            return counts;
+        }
+        namedJdbcTemplate.query(
+                "SELECT user_id, COUNT(*) AS unread FROM notifications WHERE user_id IN (:userIds) AND status = :unread GROUP BY user_id",
+                Map.of("userIds", userIds, "unread", NotificationStatus.UNREAD.getCode()),
+                rs -> {
+                    counts.put(rs.getLong("user_id"), rs.getInt("unread"));
+                });
+        return counts;
+    }
+    
+    private static class Counter {
+        final AtomicInteger count;
+        final AtomicInteger version = new AtomicInteger();
+        volatile boolean polled;
+        
+        Counter(int count) {
+            this.count = new AtomicInteger(count);
+        }
+    }
+}
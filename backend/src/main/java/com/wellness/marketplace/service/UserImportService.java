@@ -0,0 +1,205 @@
+package com.wellness.marketplace.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wellness.marketplace.config.SecurityConfig;
+import com.wellness.marketplace.dto.ImportRowResult;
+import com.wellness.marketplace.dto.ImportSummary;
+import com.wellness.marketplace.model.User;
+import com.wellness.marketplace.repository.UserRepository;
+import com.wellness.marketplace.util.ChunkedImport;
+import com.wellness.marketplace.util.DelimitedRecordReader;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+@Service
+public class UserImportService {
+    
+    private static final Set<String> IMPORTABLE_ROLES = Set.of("patient", "practitioner");
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Value("${import.users.chunk-size:500}")
+    private int chunkSize;
+    
+    @Value("${import.users.hashing-parallelism:0}")
+    private int hashingParallelism;
+    
+    private final PasswordEncoder hashingAlgorithm = SecurityConfig.hashingAlgorithm();
+    
+    // Separate from the login hashing pool; by default both together use at most one thread per core,
+    // so an import competes with logins for CPU but cannot take all of it
+    private ForkJoinPool hashingPool;
+    
+    @PostConstruct
+    void init() {
+        hashingPool = new ForkJoinPool(hashingParallelism > 0
+                ? hashingParallelism
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        hashingPool.shutdown();
+    }
+    
+    /**
+     * Streams user records from {@code input} and writes one NDJSON result per row to {@code output},
+     * followed by a summary line. Only one chunk of rows is held in memory at a time.
+     */
+    public ImportSummary importUsers(InputStream input, DelimitedRecordReader.Format format, OutputStream output) throws IOException {
+        return ChunkedImport.run(input, format, output, objectMapper, chunkSize, Row::of, Row::invalid, this::importChunk);
+    }
+    
+    private List<ImportRowResult> importChunk(List<Row> rows) {
+        List<Row> candidates = new ArrayList<>();
+        Set<String> emailsInChunk = new HashSet<>();
+        Set<String> normalizedInChunk = new HashSet<>();
+        for (Row row : rows) {
+            if (row.error == null) {
+                row.error = validate(row);
+            }
+            if (row.error == null) {
+                // MySQL compares emails case-insensitively, so duplicates are detected the same way
+                if (normalizedInChunk.add(row.email.toLowerCase())) {
+                    emailsInChunk.add(row.email);
+                    candidates.add(row);
+                } else {
+                    row.status = "duplicate";
+                }
+            }
+        }
+        
+        if (!candidates.isEmpty()) {
+            Set<String> existing = new HashSet<>();
+            userRepository.findExistingEmails(emailsInChunk).forEach(email -> existing.add(email.toLowerCase()));
+            candidates.removeIf(row -> {
+                if (existing.contains(row.email.toLowerCase())) {
+                    row.status = "duplicate";
+                    return true;
+                }
+                return false;
+            });
+        }
+        
+        if (!candidates.isEmpty()) {
+            hashPasswords(candidates);
+            insert(candidates);
+        }
+        
+        List<ImportRowResult> results = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            if (row.error != null) {
+                results.add(new ImportRowResult(row.line, row.email, "invalid", null, row.error));
+            } else {
+                results.add(new ImportRowResult(row.line, row.email, row.status, row.id, null));
+            }
+        }
+        return results;
+    }
+    
+    private String validate(Row row) {
+        if (row.name == null || row.name.isBlank()) {
+            return "name is required";
+        }
+        if (row.email == null || !row.email.contains("@")) {
+            return "a valid email is required";
+        }
+        if (row.password == null || row.password.isEmpty()) {
+            return "password is required";
+        }
+        if (!IMPORTABLE_ROLES.contains(row.role)) {
+            return "role must be one of " + IMPORTABLE_ROLES;
+        }
+        return null;
+    }
+    
+    private void hashPasswords(List<Row> rows) {
+        try {
+            hashingPool.submit(() -> rows.parallelStream()
+                    .forEach(row -> row.passwordHash = hashingAlgorithm.encode(row.password)))
+                    .get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("User import interrupted");
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Password hashing failed", e.getCause());
+        }
+    }
+    
+    private void insert(List<Row> rows) {
+        List<User> users = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            User user = new User();
+            user.setName(row.name);
+            user.setEmail(row.email);
+            user.setPassword(row.passwordHash);
+            user.setRole(row.role);
+            user.setBio(row.bio);
+            users.add(user);
+        }
+        
+        try {
+            // Pooled sequence ids let Hibernate send the whole chunk as JDBC batches
+            transactionTemplate.executeWithoutResult(status -> userRepository.saveAll(users));
+        } catch (DataAccessException e) {
+            // Typically a concurrent registration of one of the emails; the whole chunk is rolled back
+            rows.forEach(row -> row.error = "chunk rejected by the database: " + e.getMostSpecificCause().getMessage());
+            return;
+        }
+        
+        for (int i = 0; i < rows.size(); i++) {
+            rows.get(i).status = "created";
+            rows.get(i).id = users.get(i).getId();
+        }
+    }
+    
+    private static class Row {
+        long line;
+        String name;
+        String email;
+        String password;
+        String role;
+        String bio;
+        String passwordHash;
+        String status;
+        Long id;
+        String error;
+        
+        static Row of(long line, Map<String, String> record) {
+            Row row = new Row();
+            row.line = line;
+            row.name = record.get("name");
+            row.email = record.get("email") != null ? record.get("email").trim() : null;
+            row.password = record.get("password");
+            row.role = record.get("role") != null ? record.get("role").trim().toLowerCase() : "patient";
+            row.bio = record.get("bio");
+            return row;
+        }
+        
+        static Row invalid(long line, String error) {
+            Row row = new Row();
+            row.line = line;
+            row.error = error;
+            return row;
+        }
+    }
+}
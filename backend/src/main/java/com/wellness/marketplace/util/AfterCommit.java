@@ -0,0 +1,58 @@
+package com.wellness.marketplace.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Ties in-memory side effects to the outcome of the current transaction, so caches, counters and queues never
+ * show a change that is rolled back. Outside a transaction there is nothing to wait for and actions run at once.
+ */
+public final class AfterCommit {
+    
+    private AfterCommit() {
+    }
+    
+    /**
+     * Runs {@code action} once the current transaction commits, or at once when there is none.
+     */
+    public static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+    
+    /**
+     * Runs {@code action} at once and again after commit. For evictions: a reader that reloads an entry
+     * between the two still reads the old rows, and the second run drops what it cached.
+     */
+    public static void runNowAndAfterCommit(Runnable action) {
+        action.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            run(action);
+        }
+    }
+    
+    /**
+     * Runs {@code action} if the current transaction ends without committing. Outside a transaction nothing can
+     * be rolled back and the action never runs.
+     */
+    public static void onRollback(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        action.run();
+                    }
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.wellness.marketplace.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wellness.marketplace.dto.ImportRowResult;
+import com.wellness.marketplace.dto.ImportSummary;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Drives a bulk import: reads delimited records, hands them to the importer {@code chunkSize} rows at a time
+ * and writes one NDJSON result per row, followed by an {@link ImportSummary} line. Lines the reader cannot
+ * parse become rows too and count towards the chunk, so only one chunk is held in memory at a time whatever
+ * the input looks like. Results are flushed after every chunk.
+ */
+public final class ChunkedImport {
+    
+    private ChunkedImport() {
+    }
+    
+    /**
+     * @param parse       builds a row from a parsed record and its line number
+     * @param invalid     builds a row for a line that could not be parsed, from its line number and the error
+     * @param importChunk imports a chunk and returns one result per row, in order
+     */
+    public static <R> ImportSummary run(InputStream input, DelimitedRecordReader.Format format, OutputStream output,
+                                        ObjectMapper objectMapper, int chunkSize,
+                                        BiFunction<Long, Map<String, String>, R> parse,
+                                        BiFunction<Long, String, R> invalid,
+                                        Function<List<R>, List<ImportRowResult>> importChunk) throws IOException {
+        DelimitedRecordReader reader = new DelimitedRecordReader(
+                new InputStreamReader(input, StandardCharsets.UTF_8), format, objectMapper);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        ImportSummary summary = new ImportSummary();
+        
+        List<R> chunk = new ArrayList<>(chunkSize);
+        while (true) {
+            R row;
+            try {
+                Map<String, String> record = reader.next();
+                if (record == null) {
+                    break;
+                }
+                row = parse.apply(reader.getLineNumber(), record);
+            } catch (IllegalArgumentException e) {
+                row = invalid.apply(reader.getLineNumber(), e.getMessage());
+            }
+            chunk.add(row);
+            if (chunk.size() >= chunkSize) {
+                writeResults(importChunk.apply(chunk), summary, writer, objectMapper);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writeResults(importChunk.apply(chunk), summary, writer, objectMapper);
+        }
+        
+        writer.write(objectMapper.writeValueAsString(summary));
+        writer.write('\n');
+        writer.flush();
+        return summary;
+    }
+    
+    private static void writeResults(List<ImportRowResult> results, ImportSummary summary, Writer writer,
+                                     ObjectMapper objectMapper) throws IOException {
+        for (ImportRowResult result : results) {
+            summary.setProcessed(summary.getProcessed() + 1);
+            switch (result.getStatus()) {
+                case "created" -> summary.setCreated(summary.getCreated() + 1);
+                case "updated" -> summary.setUpdated(summary.getUpdated() + 1);
+                case "duplicate" -> summary.setDuplicates(summary.getDuplicates() + 1);
+                default -> summary.setInvalid(summary.getInvalid() + 1);
+            }
+            writer.write(objectMapper.writeValueAsString(result));
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+}
@@ -0,0 +1,137 @@
+package com.wellness.marketplace.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads CSV (with a header row) or newline-delimited JSON one record at a time, so an import
+ * never has to hold more than the current line in memory.
+ */
+public class DelimitedRecordReader {
+    
+    public enum Format {
+        CSV,
+        NDJSON;
+        
+        public static Format fromContentType(String contentType) {
+            if (contentType != null && contentType.toLowerCase().startsWith("text/csv")) {
+                return CSV;
+            }
+            if (contentType != null && (contentType.toLowerCase().contains("ndjson")
+                    || contentType.toLowerCase().contains("json-seq")
+                    || contentType.toLowerCase().contains("jsonl"))) {
+                return NDJSON;
+            }
+            throw new IllegalArgumentException("Unsupported content type: " + contentType
+                    + " (expected text/csv or application/x-ndjson)");
+        }
+    }
+    
+    private final BufferedReader reader;
+    private final Format format;
+    private final ObjectMapper objectMapper;
+    private List<String> header;
+    private long lineNumber;
+    
+    public DelimitedRecordReader(Reader reader, Format format, ObjectMapper objectMapper) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+    
+    /**
+     * Returns the next record as field name to value, or null at the end of input. Blank lines are skipped.
+     *
+     * @throws IllegalArgumentException if the current line cannot be parsed; reading may continue with the next line
+     */
+    public Map<String, String> next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+        } while (line.isBlank());
+        
+        if (format == Format.NDJSON) {
+            return parseJson(line);
+        }
+        if (header == null) {
+            header = parseCsvLine(line).stream().map(String::trim).toList();
+            return next();
+        }
+        List<String> values = parseCsvLine(line);
+        Map<String, String> record = new LinkedHashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            record.put(header.get(i), i < values.size() ? emptyToNull(values.get(i)) : null);
+        }
+        return record;
+    }
+    
+    public long getLineNumber() {
+        return lineNumber;
+    }
+    
+    private Map<String, String> parseJson(String line) throws IOException {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed JSON");
+        }
+        if (!node.isObject()) {
+            throw new IllegalArgumentException("Expected a JSON object");
+        }
+        Map<String, String> record = new LinkedHashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            record.put(field.getKey(), field.getValue().isNull() ? null : field.getValue().asText());
+        }
+        return record;
+    }
+    
+    private static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        values.add(current.toString());
+        return values;
+    }
+    
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+}
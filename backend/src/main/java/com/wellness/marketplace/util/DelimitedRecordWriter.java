@@ -0,0 +1,74 @@
+package com.wellness.marketplace.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes records as CSV (with a header row) or newline-delimited JSON, the output counterpart of
+ * {@link DelimitedRecordReader}. Records are written straight through to the underlying writer.
+ */
+public class DelimitedRecordWriter {
+    
+    private final Writer writer;
+    private final DelimitedRecordReader.Format format;
+    private final ObjectMapper objectMapper;
+    private final List<String> columns;
+    private boolean headerWritten;
+    
+    public DelimitedRecordWriter(Writer writer, DelimitedRecordReader.Format format, ObjectMapper objectMapper, List<String> columns) {
+        this.writer = writer;
+        this.format = format;
+        this.objectMapper = objectMapper;
+        this.columns = columns;
+    }
+    
+    /**
+     * @param record values keyed by column name, in column order
+     */
+    public void write(Map<String, Object> record) throws IOException {
+        if (format == DelimitedRecordReader.Format.NDJSON) {
+            writer.write(objectMapper.writeValueAsString(record));
+            writer.write('\n');
+            return;
+        }
+        if (!headerWritten) {
+            writeCsvLine(columns);
+            headerWritten = true;
+        }
+        writeCsvLine(columns.stream().map(record::get).toList());
+    }
+    
+    public void flush() throws IOException {
+        if (format == DelimitedRecordReader.Format.CSV && !headerWritten) {
+            writeCsvLine(columns);
+            headerWritten = true;
+        }
+        writer.flush();
+    }
+    
+    private void writeCsvLine(List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = values.get(i);
+            if (value != null) {
+                writer.write(escapeCsv(value.toString()));
+            }
+        }
+        writer.write('\n');
+    }
+    
+    private static String escapeCsv(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return '"' + value.replace("\"", "\"\"") + '"';
+            }
+        }
+        return value;
+    }
+}
@@ -0,0 +1,113 @@
+package com.wellness.marketplace.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel: level {@code i} has {@code wheelSize} buckets of {@code tickMs * wheelSize^i}
+ * milliseconds each. An item goes into the finest level whose span still reaches its deadline and moves down a
+ * level each time its bucket comes round, so adding is O(1) and advancing costs one bucket per elapsed tick
+ * plus the items that cascade. Deadlines beyond the coarsest level wait in an overflow list that is re-sorted
+ * into the wheel once per coarsest-level turn. Not thread-safe.
+ */
+public class TimingWheel<T> {
+    
+    private final long tickMs;
+    private final int wheelSize;
+    private final List<List<Entry<T>>[]> levels = new ArrayList<>();
+    private final long[] units;
+    private List<Entry<T>> overflow = new ArrayList<>();
+    private long currentTick;
+    private int size;
+    
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMs, int wheelSize, int levelCount, long startMs) {
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.units = new long[levelCount];
+        long unit = 1;
+        for (int i = 0; i < levelCount; i++) {
+            units[i] = unit;
+            unit = Math.multiplyExact(unit, wheelSize);
+            List<Entry<T>>[] buckets = new List[wheelSize];
+            for (int b = 0; b < wheelSize; b++) {
+                buckets[b] = new ArrayList<>();
+            }
+            levels.add(buckets);
+        }
+        this.currentTick = startMs / tickMs;
+    }
+    
+    /**
+     * Adds an item; one whose deadline is not after the current tick is returned by the next {@link #advance}.
+     */
+    public void add(long deadlineMs, T item) {
+        size++;
+        place(new Entry<>(Math.max(ceilDiv(deadlineMs, tickMs), currentTick + 1), item));
+    }
+    
+    /**
+     * Moves the wheel forward to {@code nowMs} and returns every item that came due, in deadline order by tick.
+     */
+    public List<T> advance(long nowMs) {
+        List<T> due = new ArrayList<>();
+        long target = nowMs / tickMs;
+        while (currentTick < target) {
+            currentTick++;
+            long top = units[units.length - 1] * wheelSize;
+            if (currentTick % top == 0 && !overflow.isEmpty()) {
+                List<Entry<T>> waiting = overflow;
+                overflow = new ArrayList<>();
+                waiting.forEach(this::place);
+            }
+            for (int level = units.length - 1; level > 0; level--) {
+                if (currentTick % units[level] == 0) {
+                    List<Entry<T>> bucket = levels.get(level)[bucketIndex(currentTick, level)];
+                    if (!bucket.isEmpty()) {
+                        List<Entry<T>> cascading = new ArrayList<>(bucket);
+                        bucket.clear();
+                        for (Entry<T> entry : cascading) {
+                            if (entry.tick <= currentTick) {
+                                levels.get(0)[bucketIndex(currentTick, 0)].add(entry);
+                            } else {
+                                place(entry);
+                            }
+                        }
+                    }
+                }
+            }
+            List<Entry<T>> bucket = levels.get(0)[bucketIndex(currentTick, 0)];
+            for (Entry<T> entry : bucket) {
+                due.add(entry.item);
+            }
+            size -= bucket.size();
+            bucket.clear();
+        }
+        return due;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    private void place(Entry<T> entry) {
+        for (int level = 0; level < units.length; level++) {
+            if (entry.tick / units[level] - currentTick / units[level] < wheelSize) {
+                levels.get(level)[bucketIndex(entry.tick, level)].add(entry);
+                return;
+            }
+        }
+        overflow.add(entry);
+    }
+    
+    private int bucketIndex(long tick, int level) {
+        return (int) ((tick / units[level]) % wheelSize);
+    }
+    
+    private static long ceilDiv(long value, long divisor) {
+        return -Math.floorDiv(-value, divisor);
+    }
+    
+    private record Entry<T>(long tick, T item) {
+    }
+}
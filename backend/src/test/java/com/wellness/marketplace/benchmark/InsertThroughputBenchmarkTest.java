@@ -0,0 +1,119 @@
+package com.wellness.marketplace.benchmark;
+
+import com.wellness.marketplace.model.Notification;
+import com.wellness.marketplace.model.NotificationStatus;
+import com.wellness.marketplace.model.Order;
+import com.wellness.marketplace.repository.NotificationRepository;
+import com.wellness.marketplace.repository.OrderRepository;
+import com.wellness.marketplace.service.NotificationService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Insert throughput with one statement per row (what IDENTITY ids forced: every persist was flushed at once to
+ * learn its id) against pooled sequence ids with JDBC batching. Each case runs once untimed to warm up.
+ * Row count per case: {@code -Dbenchmark.rows}.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class InsertThroughputBenchmarkTest {
+    
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 2000);
+    private static final int WARM_UP_ROWS = 200;
+    
+    @Autowired
+    private NotificationService notificationService;
+    
+    @Autowired
+    private NotificationRepository notificationRepository;
+    
+    @Autowired
+    private OrderRepository orderRepository;
+    
+    @Autowired
+    private EntityManager entityManager;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Test
+    void notificationFanOut() {
+        long before = notificationRepository.count();
+        IntConsumer batched = rows -> notificationService.createNotifications(userIds(rows), "benchmark", "batched");
+        
+        insertRowByRow(notifications(WARM_UP_ROWS));
+        batched.accept(WARM_UP_ROWS);
+        double perRowRate = timed("notification fan-out, row by row", () -> insertRowByRow(notifications(ROWS)));
+        double batchedRate = timed("notification fan-out, batched", () -> batched.accept(ROWS));
+        
+        assertEquals(before + 2L * (WARM_UP_ROWS + ROWS), notificationRepository.count());
+        report("notification fan-out", perRowRate, batchedRate);
+    }
+    
+    @Test
+    void bulkOrders() {
+        long before = orderRepository.count();
+        IntConsumer batched = rows -> transactionTemplate.executeWithoutResult(status -> orderRepository.saveAll(orders(rows)));
+        
+        insertRowByRow(orders(WARM_UP_ROWS));
+        batched.accept(WARM_UP_ROWS);
+        double perRowRate = timed("bulk orders, row by row", () -> insertRowByRow(orders(ROWS)));
+        double batchedRate = timed("bulk orders, batched", () -> batched.accept(ROWS));
+        
+        assertEquals(before + 2L * (WARM_UP_ROWS + ROWS), orderRepository.count());
+        report("bulk orders", perRowRate, batchedRate);
+    }
+    
+    private void insertRowByRow(List<?> entities) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Object entity : entities) {
+                entityManager.persist(entity);
+                entityManager.flush();
+            }
+        });
+    }
+    
+    private static List<Long> userIds(int rows) {
+        return LongStream.rangeClosed(1, rows).boxed().toList();
+    }
+    
+    private static List<Notification> notifications(int rows) {
+        List<Notification> notifications = new ArrayList<>(rows);
+        for (Long userId : userIds(rows)) {
+            notifications.add(new Notification(null, userId, "benchmark", "row by row", NotificationStatus.UNREAD, LocalDateTime.now()));
+        }
+        return notifications;
+    }
+    
+    private static List<Order> orders(int rows) {
+        List<Order> orders = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            orders.add(new Order(null, 1L + i % 50, 1L + i % 10, 1 + i % 3, 19.99, LocalDateTime.now(), "benchmark", null, null));
+        }
+        return orders;
+    }
+    
+    private static double timed(String label, Runnable insert) {
+        long startNanos = System.nanoTime();
+        insert.run();
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        double rate = ROWS / seconds;
+        System.out.printf("%-34s %6d rows in %7.1f ms = %9.0f rows/s%n", label, ROWS, seconds * 1000, rate);
+        return rate;
+    }
+    
+    private static void report(String label, double perRow, double batched) {
+        System.out.printf("%-34s batched is %.1fx row by row%n", label, batched / perRow);
+    }
+}
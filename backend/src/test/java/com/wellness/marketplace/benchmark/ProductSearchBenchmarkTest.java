@@ -0,0 +1,92 @@
+package com.wellness.marketplace.benchmark;
+
+import com.wellness.marketplace.dto.ProductSearchHit;
+import com.wellness.marketplace.model.Product;
+import com.wellness.marketplace.search.ProductSearchIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Query latency of the product search index over a synthetic catalog, with a mix of exact, multi-term, prefix
+ * and filtered queries. Latencies are printed, not asserted, so a busy machine cannot fail the build; the test
+ * only checks that results come back in score order. Catalog size: {@code -Dbenchmark.products}; queries:
+ * {@code -Dbenchmark.queries}.
+ */
+class ProductSearchBenchmarkTest {
+    
+    private static final int PRODUCTS = Integer.getInteger("benchmark.products", 100_000);
+    private static final int QUERIES = Integer.getInteger("benchmark.queries", 20_000);
+    private static final String[] CATEGORIES = {"Yoga", "Meditation", "Supplements", "Aromatherapy", "Fitness", "Herbal"};
+    private static final String[] WORDS = {"mat", "organic", "lavender", "blend", "herbal", "tea", "calming", "oil",
+            "bamboo", "cushion", "vitamin", "magnesium", "ashwagandha", "massage", "roller", "foam", "incense",
+            "candle", "diffuser", "protein", "ginger", "turmeric", "eucalyptus", "sleep", "recovery", "band"};
+    private static final String[] SYLLABLES = {"ka", "lo", "mi", "ra", "ve", "su", "to", "ne", "bi", "da", "or", "el"};
+    private static final String[] QUERY_MIX = {"lavender", "herbal tea", "yoga mat", "ma", "med", "organic bl",
+            "vitamin", "su", "calming oil", "t", "recovery band", "eucal", "kalo", "veramisu", "bida"};
+    
+    @Test
+    void queryLatency() {
+        ProductSearchIndex index = new ProductSearchIndex();
+        ReflectionTestUtils.setField(index, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.invokeMethod(index, "init");
+        
+        Random random = new Random(42);
+        List<Product> catalog = new ArrayList<>(PRODUCTS);
+        for (long id = 1; id <= PRODUCTS; id++) {
+            // A few common words plus a long tail of brand-like words, as in a real catalog
+            String name = word(random) + " " + brand(random) + " " + id;
+            String description = word(random) + " " + brand(random) + " " + brand(random) + " " + word(random);
+            catalog.add(new Product(id, name, description, 5 + random.nextInt(200) + 0.99,
+                    CATEGORIES[random.nextInt(CATEGORIES.length)], random.nextInt(4) == 0 ? 0 : random.nextInt(100), null));
+        }
+        long indexStart = System.nanoTime();
+        index.productsChanged(catalog);
+        System.out.printf("indexed %d products in %.0f ms%n", index.size(), (System.nanoTime() - indexStart) / 1e6);
+        
+        for (int i = 0; i < QUERIES / 4; i++) {
+            run(index, i);
+        }
+        long[] nanos = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            long start = System.nanoTime();
+            List<ProductSearchHit> hits = run(index, i);
+            nanos[i] = System.nanoTime() - start;
+            for (int h = 1; h < hits.size(); h++) {
+                assertTrue(hits.get(h - 1).getScore() >= hits.get(h).getScore());
+            }
+        }
+        Arrays.sort(nanos);
+        double mean = Arrays.stream(nanos).average().orElse(0);
+        System.out.printf("%d queries over %d products: mean %.1f us, p50 %.1f us, p99 %.1f us, max %.1f us%n",
+                QUERIES, PRODUCTS, mean / 1e3, nanos[QUERIES / 2] / 1e3, nanos[QUERIES * 99 / 100] / 1e3, nanos[QUERIES - 1] / 1e3);
+        
+        assertFalse(index.search("lavender", null, null, false, 20).isEmpty());
+    }
+    
+    private static List<ProductSearchHit> run(ProductSearchIndex index, int i) {
+        String query = QUERY_MIX[i % QUERY_MIX.length];
+        return i % 3 == 0
+                ? index.search(query, 20.0, 120.0, true, 20)
+                : index.search(query, null, null, false, 20);
+    }
+    
+    private static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+    
+    private static String brand(Random random) {
+        StringBuilder brand = new StringBuilder();
+        for (int i = 2 + random.nextInt(3); i > 0; i--) {
+            brand.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        return brand.toString();
+    }
+}
@@ -0,0 +1,94 @@
+package com.wellness.marketplace.service;
+
+import com.wellness.marketplace.model.Order;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Many threads ordering one product at once, in both reservation modes: exactly the available stock is sold,
+ * every other order fails, and the row ends at zero. Prints orders/sec for each mode.
+ */
+@SpringBootTest(properties = "inventory.hot-products=" + StockReservationStressTest.HOT_PRODUCT)
+@ActiveProfiles("test")
+class StockReservationStressTest {
+    
+    static final long HOT_PRODUCT = 900_002;
+    private static final long ROW_PRODUCT = 900_001;
+    private static final int STOCK = 500;
+    private static final int ORDERS = 2_000;
+    private static final int THREADS = 64;
+    
+    @Autowired
+    private OrderService orderService;
+    
+    @Autowired
+    private StockReservationEngine stockReservationEngine;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Test
+    void conditionalUpdateDoesNotOversell() throws Exception {
+        hammer("conditional update", ROW_PRODUCT);
+    }
+    
+    @Test
+    void hotCountersDoNotOversell() throws Exception {
+        hammer("hot counters", HOT_PRODUCT);
+    }
+    
+    private void hammer(String label, long productId) throws Exception {
+        jdbcTemplate.update("DELETE FROM orders WHERE product_id = ?", productId);
+        jdbcTemplate.update("DELETE FROM products WHERE id = ?", productId);
+        jdbcTemplate.update("INSERT INTO products (id, name, description, price, category, stock) VALUES (?, ?, 'stress', 10.0, 'Stress', ?)",
+                productId, "Stress " + productId, STOCK);
+        
+        AtomicInteger sold = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>(ORDERS);
+        for (int i = 0; i < ORDERS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                Order order = new Order();
+                order.setUserId(2L);
+                order.setProductId(productId);
+                order.setQuantity(1);
+                try {
+                    orderService.createOrder(order);
+                    sold.incrementAndGet();
+                } catch (RuntimeException e) {
+                    assertEquals("Insufficient stock", e.getMessage());
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        long startNanos = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        executor.shutdown();
+        stockReservationEngine.flushHotStock();
+        
+        System.out.printf("%-20s %d threads, %d orders in %.0f ms = %.0f orders/s (%d sold, %d rejected)%n",
+                label, THREADS, ORDERS, seconds * 1000, ORDERS / seconds, sold.get(), rejected.get());
+        assertEquals(STOCK, sold.get());
+        assertEquals(ORDERS - STOCK, rejected.get());
+        assertEquals(STOCK, jdbcTemplate.queryForObject("SELECT COALESCE(SUM(quantity), 0) FROM orders WHERE product_id = ?", Integer.class, productId));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT stock FROM products WHERE id = ?", Integer.class, productId));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders WHERE product_id = ? AND stock_pending = TRUE", Integer.class, productId));
+    }
+}
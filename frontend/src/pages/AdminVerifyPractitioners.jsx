@@ -7,6 +7,8 @@ const AdminVerifyPractitioners = () => {
   const { user } = useAuth();
   const navigate = useNavigate();
   const [practitioners, setPractitioners] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [selected, setSelected] = useState([]);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState('');
   const [successMessage, setSuccessMessage] = useState('');
@@ -40,11 +42,12 @@ const AdminVerifyPractitioners = () => {
     fetchUnverifiedPractitioners();
   }, [user, navigate]);
 
-  const fetchUnverifiedPractitioners = async () => {
+  const fetchUnverifiedPractitioners = async (cursor = null) => {
     try {
-      setLoading(true);
-      const response = await practitionerService.getUnverified();
-      setPractitioners(response.data);
+      if (!cursor) setLoading(true);
+      const response = await practitionerService.getUnverified({ cursor, sort: 'name' });
+      setPractitioners(prev => (cursor ? [...prev, ...response.data.items] : response.data.items));
+      setNextCursor(response.data.nextCursor);
       setError('');
     } catch (err) {
       setError('Failed to fetch unverified practitioners');
@@ -61,6 +64,42 @@ const AdminVerifyPractitioners = () => {
     }));
   };
 
+  const toggleSelected = (userId) => {
+    setSelected(prev => (prev.includes(userId) ? prev.filter(id => id !== userId) : [...prev, userId]));
+  };
+
+  const handleBulkDecision = async (approve) => {
+    try {
+      if (approve && !formData.specialization) {
+        setError('Please select a specialization');
+        return;
+      }
+
+      const response = await practitionerService.bulkDecide(approve
+        ? {
+            approve: selected.map(userId => ({
+              userId,
+              specialization: formData.specialization,
+              rating: parseFloat(formData.rating),
+            })),
+          }
+        : { reject: selected });
+
+      const decided = response.data.filter(r => r.status !== 'skipped').map(r => r.userId);
+      const skipped = response.data.length - decided.length;
+      setPractitioners(practitioners.filter(p => !decided.includes(p.userId)));
+      setSelected([]);
+      setSuccessMessage(`${decided.length} practitioner${decided.length !== 1 ? 's' : ''} ${approve ? 'verified' : 'rejected'}`
+        + (skipped ? `, ${skipped} skipped` : ''));
+      setError('');
+
+      setTimeout(() => setSuccessMessage(''), 3000);
+    } catch (err) {
+      setError(err.response?.data?.message || 'Failed to update practitioners');
+      console.error(err);
+    }
+  };
+
   const handleVerify = async (practitionerId) => {
     try {
       if (!formData.specialization) {
@@ -129,15 +168,45 @@ const AdminVerifyPractitioners = () => {
         </div>
       )}
 
-      {practitioners.length === 0 ? (
+      {practitioners.length === 0 && !nextCursor ? (
         <div className="bg-blue-100 border border-blue-400 text-blue-700 px-4 py-3 rounded">
           All practitioners have been verified! ✓
         </div>
       ) : (
         <div className="grid gap-6">
           <p className="text-gray-600 mb-4">
-            {practitioners.length} unverified practitioner{practitioners.length !== 1 ? 's' : ''} pending verification
+            {practitioners.length}{nextCursor ? '+' : ''} unverified practitioner{practitioners.length !== 1 ? 's' : ''} pending verification
           </p>
+
+          {selected.length > 0 && (
+            <div className="bg-white rounded-lg shadow-md p-4 flex flex-wrap items-center gap-4">
+              <span className="font-semibold text-gray-700">{selected.length} selected</span>
+              <select
+                value={formData.specialization}
+                onChange={(e) => handleFormChange('specialization', e.target.value)}
+                className="px-4 py-2 border border-gray-300 rounded-lg focus:outline-none focus:ring-2 focus:ring-teal-600"
+              >
+                <option value="">-- Choose Specialization --</option>
+                {specializations.map((spec) => (
+                  <option key={spec} value={spec}>
+                    {spec}
+                  </option>
+                ))}
+              </select>
+              <button
+                onClick={() => handleBulkDecision(true)}
+                className="bg-green-600 text-white px-6 py-2 rounded-lg hover:bg-green-700 transition font-semibold"
+              >
+                ✓ Verify Selected
+              </button>
+              <button
+                onClick={() => handleBulkDecision(false)}
+                className="bg-red-600 text-white px-6 py-2 rounded-lg hover:bg-red-700 transition font-semibold"
+              >
+                ✗ Reject Selected
+              </button>
+            </div>
+          )}
           
           {practitioners.map((practitioner) => (
             <div key={practitioner.userId} className="bg-white rounded-lg shadow-md border-l-4 border-teal-600">
@@ -151,6 +220,13 @@ const AdminVerifyPractitioners = () => {
                 }
               >
                 <div className="flex justify-between items-start">
+                  <input
+                    type="checkbox"
+                    checked={selected.includes(practitioner.userId)}
+                    onClick={(e) => e.stopPropagation()}
+                    onChange={() => toggleSelected(practitioner.userId)}
+                    className="mt-2 mr-4 h-5 w-5"
+                  />
                   <div className="flex-1">
                     <h2 className="text-2xl font-bold text-gray-800">{practitioner.name}</h2>
                     <p className="text-gray-600 mt-1">Email: {practitioner.email}</p>
@@ -229,6 +305,15 @@ const AdminVerifyPractitioners = () => {
               )}
             </div>
           ))}
+
+          {nextCursor && (
+            <button
+              onClick={() => fetchUnverifiedPractitioners(nextCursor)}
+              className="bg-teal-600 text-white px-6 py-2 rounded-lg hover:bg-teal-700 transition font-semibold"
+            >
+              Load more
+            </button>
+          )}
         </div>
       )}
     </div>
@@ -20,10 +20,10 @@ const Dashboard = () => {
       setSessions(sessionsRes.data);
 
       const ordersRes = await orderService.getUserOrders(user.userId);
-      setOrders(ordersRes.data);
+      setOrders(ordersRes.data.items);
 
       const recsRes = await recommendationService.getUserRecommendations(user.userId);
-      setRecommendations(recsRes.data);
+      setRecommendations(recsRes.data.items);
 
       if (user.role === 'practitioner') {
         const profileRes = await practitionerService.getByUserId(user.userId);
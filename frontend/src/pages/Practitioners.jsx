@@ -4,23 +4,25 @@ import { practitionerService } from '../services/api';
 
 const Practitioners = () => {
   const [practitioners, setPractitioners] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
   const [filter, setFilter] = useState('all');
 
   useEffect(() => {
     loadPractitioners();
   }, [filter]);
 
-  const loadPractitioners = async () => {
+  const loadPractitioners = async (cursor = null) => {
     try {
       let response;
       if (filter === 'all') {
-        response = await practitionerService.getAll();
+        response = await practitionerService.getAll({ cursor });
       } else if (filter === 'verified') {
-        response = await practitionerService.getVerified();
+        response = await practitionerService.getVerified({ cursor });
       } else {
-        response = await practitionerService.getBySpecialization(filter);
+        response = await practitionerService.getBySpecialization(filter, { cursor });
       }
-      setPractitioners(response.data);
+      setPractitioners(prev => (cursor ? [...prev, ...response.data.items] : response.data.items));
+      setNextCursor(response.data.nextCursor);
     } catch (error) {
       console.error('Error loading practitioners:', error);
     }
@@ -69,14 +71,17 @@ const Practitioners = () => {
         {practitioners.map(practitioner => (
           <div key={practitioner.id} className="bg-white rounded-lg shadow-lg p-6 hover:shadow-xl transition">
             <div className="flex items-center justify-between mb-4">
-              <h3 className="text-xl font-bold">Practitioner #{practitioner.userId}</h3>
+              <h3 className="text-xl font-bold">{practitioner.name}</h3>
               {practitioner.verified && <span className="text-green-600">✓ Verified</span>}
             </div>
+            {practitioner.bio && (
+              <p className="text-gray-600 mb-2 italic">{practitioner.bio}</p>
+            )}
             <p className="text-gray-600 mb-2">
               <strong>Specialization:</strong> {practitioner.specialization}
             </p>
             <p className="text-gray-600 mb-4">
-              <strong>Rating:</strong> ⭐ {practitioner.rating.toFixed(1)}
+              <strong>Rating:</strong> ⭐ {(practitioner.rating ?? 0).toFixed(1)} ({practitioner.reviewCount} review{practitioner.reviewCount !== 1 ? 's' : ''})
             </p>
             <Link
               to={`/book-session/${practitioner.id}`}
@@ -88,6 +93,17 @@ const Practitioners = () => {
         ))}
       </div>
 
+      {nextCursor && (
+        <div className="text-center mt-8">
+          <button
+            onClick={() => loadPractitioners(nextCursor)}
+            className="bg-teal-600 text-white px-6 py-2 rounded-lg hover:bg-teal-700 transition"
+          >
+            Load more
+          </button>
+        </div>
+      )}
+
       {practitioners.length === 0 && (
         <p className="text-center text-gray-500 mt-8">No practitioners found</p>
       )}
@@ -26,14 +26,15 @@ export const authService = {
 };
 
 export const practitionerService = {
-  getAll: () => api.get('/practitioners'),
-  getVerified: () => api.get('/practitioners/verified'),
-  getUnverified: () => api.get('/practitioners/unverified'),
+  getAll: (params) => api.get('/practitioners', { params }),
+  getVerified: (params) => api.get('/practitioners/verified', { params }),
+  getUnverified: (params) => api.get('/practitioners/unverified', { params }),
   getByUserId: (userId) => api.get(`/practitioners/user/${userId}`),
-  getBySpecialization: (specialization) => api.get(`/practitioners/specialization/${specialization}`),
+  getBySpecialization: (specialization, params) => api.get(`/practitioners/specialization/${specialization}`, { params }),
   create: (data) => api.post('/practitioners', data),
   verify: (id) => api.put(`/practitioners/${id}/verify`),
   adminVerify: (data) => api.post('/practitioners/admin/verify', data),
+  bulkDecide: (data) => api.post('/practitioners/admin/verify/bulk', data),
 };
 
 export const sessionService = {
@@ -44,7 +45,7 @@ export const sessionService = {
 };
 
 export const productService = {
-  getAll: () => api.get('/products'),
+  getAll: (params) => api.get('/products', { params }),
   getById: (id) => api.get(`/products/${id}`),
   getByCategory: (category) => api.get(`/products/category/${category}`),
   getAvailable: () => api.get('/products/available'),
@@ -53,12 +54,13 @@ export const productService = {
 
 export const orderService = {
   create: (data) => api.post('/orders', data),
-  getUserOrders: (userId) => api.get(`/orders/user/${userId}`),
+  checkout: (data) => api.post('/orders/checkout', data),
+  getUserOrders: (userId, params) => api.get(`/orders/user/${userId}`, { params }),
 };
 
 export const reviewService = {
   create: (data) => api.post('/reviews', data),
-  getPractitionerReviews: (practitionerId) => api.get(`/reviews/practitioner/${practitionerId}`),
+  getPractitionerReviews: (practitionerId, params) => api.get(`/reviews/practitioner/${practitionerId}`, { params }),
   getAverageRating: (practitionerId) => api.get(`/reviews/practitioner/${practitionerId}/average`),
 };
 
@@ -71,13 +73,16 @@ export const communityService = {
 
 export const recommendationService = {
   generate: (data) => api.post('/recommendations', data),
-  getUserRecommendations: (userId) => api.get(`/recommendations/user/${userId}`),
+  getUserRecommendations: (userId, params) => api.get(`/recommendations/user/${userId}`, { params }),
 };
 
 export const notificationService = {
-  getUserNotifications: (userId) => api.get(`/notifications/user/${userId}`),
+  getUserNotifications: (userId, params) => api.get(`/notifications/user/${userId}`, { params }),
   getUnreadNotifications: (userId) => api.get(`/notifications/user/${userId}/unread`),
+  getUnreadCount: (userId) => api.get(`/notifications/user/${userId}/unread/count`),
   markAsRead: (id) => api.put(`/notifications/${id}/read`),
+  markManyAsRead: (userId, ids) => api.put(`/notifications/user/${userId}/read`, ids),
+  markAllAsRead: (userId) => api.put(`/notifications/user/${userId}/read-all`),
 };
 
 export default api;